@@ -0,0 +1,138 @@
+package com.account_service.client;
+
+import com.account_service.dto.UserProfileDto;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local cache of user profiles in front of {@link UserServiceClient}, keyed by user id.
+ *
+ * <ul>
+ *   <li>Concurrent misses for one user share a single call to user-service.</li>
+ *   <li>Once an entry is older than {@code refresh-after} it is still served, and one background
+ *       call replaces it; a slow or failing user-service only delays that refresh.</li>
+ *   <li>Entries are dropped after {@code expire-after} or when {@code max-size} is reached.</li>
+ * </ul>
+ *
+ * The profile endpoint identifies the user from the bearer token, so the caller's token is
+ * captured up front and sent explicitly; background refreshes have no request to forward from.
+ * With {@code app.user-profile-cache.enabled=false} every call goes straight to user-service.
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    private static final String AUTHORIZATION = "Authorization";
+
+    private final UserServiceClient userServiceClient;
+    private final boolean enabled;
+    private final Duration refreshAfter;
+    private final AsyncCache<Long, Entry> cache;
+    private final Map<Long, CompletableFuture<Entry>> refreshing = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+
+    public UserProfileCache(UserServiceClient userServiceClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.user-profile-cache.enabled:true}") boolean enabled,
+                            @Value("${app.user-profile-cache.max-size:10000}") long maxSize,
+                            @Value("${app.user-profile-cache.refresh-after:PT1M}") Duration refreshAfter,
+                            @Value("${app.user-profile-cache.expire-after:PT30M}") Duration expireAfter,
+                            @Value("${app.user-profile-cache.refresh-threads:2}") int refreshThreads) {
+        this.userServiceClient = userServiceClient;
+        this.enabled = enabled;
+        this.refreshAfter = refreshAfter;
+        this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "user-profile-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfter)
+                .executor(refreshExecutor)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "user.profile");
+    }
+
+    public UserProfileDto getProfile(Long userId) {
+        String authorization = currentAuthorization();
+        if (!enabled) {
+            return userServiceClient.getCurrentUserProfile(authorization);
+        }
+
+        // getIfPresent first so the hit/miss stats see every lookup
+        CompletableFuture<Entry> loading = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = cache.getIfPresent(userId);
+        if (existing == null) {
+            existing = cache.asMap().putIfAbsent(userId, loading);
+        }
+        Entry entry;
+        if (existing == null) {
+            // This caller fetches; anyone else asking for the user meanwhile waits on the same future
+            try {
+                entry = new Entry(userServiceClient.getCurrentUserProfile(authorization), Instant.now());
+                loading.complete(entry);
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            try {
+                entry = existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        if (entry.fetchedAt().plus(refreshAfter).isBefore(Instant.now())) {
+            refreshInBackground(userId, authorization);
+        }
+        return entry.profile();
+    }
+
+    private void refreshInBackground(Long userId, String authorization) {
+        refreshing.computeIfAbsent(userId, id -> CompletableFuture
+                .supplyAsync(() -> new Entry(userServiceClient.getCurrentUserProfile(authorization), Instant.now()),
+                        refreshExecutor)
+                .whenComplete((entry, error) -> {
+                    if (error == null) {
+                        cache.put(id, CompletableFuture.completedFuture(entry));
+                    } else {
+                        log.warn("Refreshing profile of user {} failed, keeping the cached one: {}", id, error.toString());
+                    }
+                    refreshing.remove(id);
+                }));
+    }
+
+    private static String currentAuthorization() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(AUTHORIZATION);
+        }
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private record Entry(UserProfileDto profile, Instant fetchedAt) {
+    }
+}
@@ -1,17 +1,25 @@
 package com.account_service.client;
 
 import com.account_service.dto.UserProfileDto;  // we'll create this
+import com.account_service.dto.UserSummaryDto;
+import com.account_service.request.UserBatchRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
 
 @FeignClient(name = "user-service",
 url = "${user_service.url:http://localhost:5001}")  // discovery name or use url=... for local testing
 public interface UserServiceClient {
 
+    // The token is passed in, since background refreshes run outside the user's request
     @GetMapping("/api/user/profile")
-    UserProfileDto getCurrentUserProfile();
+    UserProfileDto getCurrentUserProfile(@RequestHeader(value = "Authorization", required = false) String authorization);
 
-    // Optional future methods (add endpoints in user-service if needed)
-    // @GetMapping("/api/internal/users/{id}")
-    // UserProfileDto getUserById(@PathVariable("id") Long id);
+    // Many users in one call, in request order with unknown ids left out; instead of one lookup per id
+    @PostMapping("/api/users/_batch")
+    List<UserSummaryDto> getUsers(@RequestBody UserBatchRequest request);
 }
\ No newline at end of file
@@ -17,7 +17,8 @@ public class ForwardJwtTokenInterceptor implements RequestInterceptor {
         ServletRequestAttributes attributes =
                 (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
 
-        if (attributes != null) {
+        // Calls that pass the token explicitly keep it
+        if (attributes != null && !template.headers().containsKey(AUTHORIZATION)) {
             HttpServletRequest request = attributes.getRequest();
             String authHeader = request.getHeader(AUTHORIZATION);
 
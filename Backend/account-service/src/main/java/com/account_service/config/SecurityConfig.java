@@ -1,6 +1,7 @@
 package com.account_service.config;
 
 import com.account_service.security.JwtAuthenticationFilter;
+import com.account_service.security.JwtVerifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -16,7 +17,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtVerifier jwtVerifier) throws Exception{
 
         http
                 .csrf(csrf -> csrf.disable())
@@ -25,7 +26,7 @@ public class SecurityConfig {
                         .requestMatchers("/accounts/user/**").hasRole("ADMIN")   // optional, cleaner
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(jwtVerifier), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 }
@@ -1,12 +1,26 @@
 package com.account_service.controller;
 
+import com.account_service.dto.AccountSummaryDto;
+import com.account_service.dto.AccountWithOwnerDto;
+import com.account_service.dto.ReportJobResponse;
 import com.account_service.model.Account;
+import com.account_service.request.AccountBulkRequest;
 import com.account_service.request.CreateAccountRequest;
+import com.account_service.security.AuthenticatedUserProvider;
+import com.account_service.service.AccountBalanceService;
+import com.account_service.service.AccountBulkService;
+import com.account_service.service.AccountReportService;
+import com.account_service.service.ReportJobService;
 import com.account_service.service.AccountServiceImplmentation;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.*;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,6 +31,11 @@ import java.util.List;
 public class AccountController {
 
     private final AccountServiceImplmentation accountService;
+    private final AccountBalanceService balanceService;
+    private final AccountBulkService bulkService;
+    private final AccountReportService reportService;
+    private final ReportJobService reportJobService;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
 
     @PostMapping
     public Account createAccount(@RequestBody CreateAccountRequest request){
@@ -28,6 +47,21 @@ public class AccountController {
         return accountService.getMyAccounts();
     }
 
+    // Service-to-service lookup of many accounts in one call
+    @PostMapping("/_bulk")
+    @PreAuthorize("hasAnyRole('SERVICE','ADMIN')")
+    public List<AccountSummaryDto> getAccounts(@RequestBody AccountBulkRequest request){
+        return bulkService.getAccounts(request);
+    }
+
+    // Admin listing with owner names; one user-service call per page
+    @GetMapping("/with-owners")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<AccountWithOwnerDto> listAccountsWithOwners(@RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "50") int size){
+        return accountService.listAccountsWithOwners(page, size);
+    }
+
     @GetMapping("/{id}")
     public Account getAccount(@PathVariable Long id){
         return accountService.getAccount(id);
@@ -41,22 +75,76 @@ public class AccountController {
 
     @GetMapping("/{id}/balance")
     public BigDecimal getAccountBalance(@PathVariable Long id){
-        Account account = accountService.getAccount(id);
-        return account.getBalance();
+        return balanceService.balanceForCurrentUser(id);
+    }
+
+    @PutMapping("/{id}/balance-shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void setBalanceShards(@PathVariable Long id, @RequestParam int count){
+        balanceService.setShardCount(id, count);
+    }
+
+    // Internal: only transaction-service moves money. A repeated Idempotency-Key is applied once.
+    @PutMapping("/{id}/debit")
+    @PreAuthorize("hasRole('SERVICE')")
+    public void debit(@PathVariable Long id,
+                      @RequestParam BigDecimal amount,
+                      @RequestParam(required = false) String description,
+                      @RequestHeader(value = "Idempotency-Key", required = false) String operationKey){
+        balanceService.debit(id, amount, operationKey, description);
+    }
+
+    @PutMapping("/{id}/credit")
+    @PreAuthorize("hasRole('SERVICE')")
+    public void credit(@PathVariable Long id,
+                       @RequestParam BigDecimal amount,
+                       @RequestParam(required = false) String description,
+                       @RequestHeader(value = "Idempotency-Key", required = false) String operationKey){
+        balanceService.credit(id, amount, operationKey, description);
     }
 
     @GetMapping("/report/pdf")
-    public ResponseEntity<byte[]> downloadComprehensiveReport() {
-        byte[] pdfBytes = accountService.generateComprehensiveAccountReport();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDisposition(ContentDisposition.builder("attachment")
-                .filename("comprehensive-account-report-" + LocalDate.now() + ".pdf")
-                .build());
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(pdfBytes);
+    public void downloadComprehensiveReport(HttpServletResponse response) throws IOException {
+        streamReport(authenticatedUserProvider.getUserId(), response);
+    }
+
+    @GetMapping("/user/{userId}/report/pdf")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void downloadUserReport(@PathVariable Long userId, HttpServletResponse response) throws IOException {
+        streamReport(userId, response);
+    }
+
+    @PostMapping("/report/jobs")
+    public ResponseEntity<ReportJobResponse> submitReportJob(){
+        ReportJobResponse job = reportJobService.submit(authenticatedUserProvider.getUserId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/accounts/report/jobs/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/report/jobs/{jobId}")
+    public ReportJobResponse getReportJob(@PathVariable String jobId){
+        return reportJobService.status(authenticatedUserProvider.getUserId(), jobId);
+    }
+
+    @GetMapping("/report/jobs/{jobId}/pdf")
+    public void downloadReportJob(@PathVariable String jobId, HttpServletResponse response) throws IOException {
+        Path file = reportJobService.reportFile(authenticatedUserProvider.getUserId(), jobId);
+        setPdfHeaders(response, ReportJobService.generatedAt(file).toLocalDate());
+        Files.copy(file, response.getOutputStream());
+    }
+
+    // Pages go out as they are laid out, so large reports are never held in memory
+    private void streamReport(Long userId, HttpServletResponse response) throws IOException {
+        setPdfHeaders(response, LocalDate.now());
+        reportService.writeComprehensiveReport(userId, response.getOutputStream());
+    }
+
+    private static void setPdfHeaders(HttpServletResponse response, LocalDate generatedOn) {
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                .filename("comprehensive-account-report-" + generatedOn + ".pdf")
+                .build()
+                .toString());
     }
 }
@@ -0,0 +1,14 @@
+package com.account_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+// Fields that were not asked for, or that the caller may not see, are left out
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountSummaryDto(
+        Long id,
+        String status,
+        BigDecimal balance,
+        String currency
+) {}
@@ -0,0 +1,18 @@
+package com.account_service.dto;
+
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
+
+import java.math.BigDecimal;
+
+// Owner fields are null when user-service does not know the user or could not be reached
+public record AccountWithOwnerDto(
+        Long id,
+        String accountNumber,
+        AccountType accountType,
+        AccountStatus status,
+        BigDecimal balance,
+        Long userId,
+        String ownerName,
+        String ownerEmail
+) {}
@@ -0,0 +1,13 @@
+package com.account_service.dto;
+
+import java.time.LocalDateTime;
+
+public record ReportJobResponse(
+        String jobId,
+        String status,
+        LocalDateTime submittedAt,
+        // When the PDF was rendered; a report reused because no account changed keeps its original time
+        LocalDateTime generatedAt,
+        LocalDateTime completedAt,
+        String error
+) {}
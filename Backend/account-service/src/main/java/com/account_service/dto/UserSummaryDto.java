@@ -0,0 +1,9 @@
+package com.account_service.dto;
+
+// One user as returned by user-service's POST /api/users/_batch
+public record UserSummaryDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String email
+) {}
@@ -35,9 +35,16 @@ public class Account {
 
     private Double interestRate;
 
+    // Interest accrued to the day but not yet posted to the balance; kept below the cent
+    @Column(precision = 38, scale = 10)
+    private BigDecimal accruedInterest;
+
     @Enumerated(EnumType.STRING)
     private AccountStatus status;
 
     private LocalDateTime opendAt;
 
+    // Number of balance shards taking this account's credits; null or 0 when not sharded
+    private Integer balanceShards;
+
 }
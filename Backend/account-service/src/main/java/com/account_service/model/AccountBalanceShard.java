@@ -0,0 +1,36 @@
+package com.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Part of a hot account's balance. Credits to a sharded account land on one of these rows
+ * instead of the account row; the account's real balance is its own balance plus all shards.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@Table(name = "account_balance_shards",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "shard_no"}))
+public class AccountBalanceShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "shard_no", nullable = false)
+    private Integer shardNo;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+}
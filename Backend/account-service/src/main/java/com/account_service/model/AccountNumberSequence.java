@@ -0,0 +1,24 @@
+package com.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * High-water mark for account numbers. Instances lease ranges by moving {@code nextValue} forward
+ * under a row lock, then hand out numbers from the range in memory.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "account_number_sequences")
+public class AccountNumberSequence {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,62 @@
+package com.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A debit or credit applied under a caller-supplied operation key. It is written in the same
+ * transaction as the balance change, so the row exists exactly when the change committed, and
+ * a repeat of the call with the same key is answered from it instead of being applied again.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder(toBuilder = true)
+@Table(name = "applied_operations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_applied_operations_key", columnNames = "operation_key"))
+public class AppliedOperation {
+
+    public static final int MAX_KEY_LENGTH = 100;
+    public static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "operation_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String operationKey;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Type type;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(length = MAX_DESCRIPTION_LENGTH)
+    private String description;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+
+    // Whether a repeated call asks for the same change as the one recorded under its key
+    public boolean sameChangeAs(AppliedOperation other) {
+        return accountId.equals(other.accountId)
+                && type == other.type
+                && amount.compareTo(other.amount) == 0;
+    }
+
+    public enum Type {
+        DEBIT, CREDIT
+    }
+}
@@ -0,0 +1,41 @@
+package com.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A partition of accounts whose interest for {@code accrualDate} has been applied. Written in the
+ * same transaction as the balance updates; the unique key stops a partition being applied twice.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "interest_accrual_checkpoints",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"accrual_date", "partition_no"}))
+public class InterestAccrualCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(name = "partition_no", nullable = false)
+    private Long partitionNo;
+
+    private Integer accounts;
+
+    // Posted to balances; zero on days that only accrue
+    @Column(precision = 38, scale = 2)
+    private BigDecimal interest;
+
+    private LocalDateTime completedAt;
+}
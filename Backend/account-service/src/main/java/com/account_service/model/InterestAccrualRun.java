@@ -0,0 +1,35 @@
+package com.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One day's interest accrual. Partitions already applied for the day are recorded in
+ * {@code interest_accrual_checkpoints}, so a run that stopped part way resumes where it left off.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "interest_accrual_runs")
+public class InterestAccrualRun {
+
+    @Id
+    private LocalDate accrualDate;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    private Long accounts;
+
+    // Posted to balances; zero on days that only accrue
+    @Column(precision = 38, scale = 2)
+    private BigDecimal interest;
+}
@@ -0,0 +1,54 @@
+package com.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A background report job. Kept in the database so any instance can answer a poll for it;
+ * {@code activeUserId} is set only while the job is queued or running, and its unique key allows
+ * one such job per user across all instances.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "report_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_jobs_active_user", columnNames = "active_user_id"))
+public class ReportJob {
+
+    public static final int MAX_ERROR_LENGTH = 255;
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "active_user_id")
+    private Long activeUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    private String file;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    private LocalDateTime submittedAt;
+
+    // When the PDF was rendered, which is the "Generated on" it carries; earlier than completedAt when reused
+    private LocalDateTime generatedAt;
+
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+}
@@ -0,0 +1,37 @@
+package com.account_service.repository;
+
+import com.account_service.entity.AccountStatus;
+import com.account_service.model.AccountBalanceShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface AccountBalanceShardRepository extends JpaRepository<AccountBalanceShard, Long> {
+
+    List<AccountBalanceShard> findByAccountId(Long accountId);
+
+    // Blocks credits to these shards until the caller commits, so a sweep cannot miss one
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceShard s WHERE s.accountId = :accountId ORDER BY s.shardNo")
+    List<AccountBalanceShard> lockByAccountId(@Param("accountId") Long accountId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountBalanceShard s SET s.balance = s.balance + :amount "
+            + "WHERE s.accountId = :accountId AND s.shardNo = :shardNo "
+            + "AND EXISTS (SELECT a.id FROM Account a WHERE a.id = :accountId AND a.status = :status)")
+    int creditShard(@Param("accountId") Long accountId,
+                    @Param("shardNo") int shardNo,
+                    @Param("amount") BigDecimal amount,
+                    @Param("status") AccountStatus status);
+
+    @Query("SELECT DISTINCT s.accountId FROM AccountBalanceShard s")
+    List<Long> findShardedAccountIds();
+}
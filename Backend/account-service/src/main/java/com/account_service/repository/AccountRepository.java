@@ -1,9 +1,137 @@
 package com.account_service.repository;
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
 import com.account_service.model.Account;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     List<Account> findByUserId(Long userId);
+
+    // Check and write in one statement, so the row lock is held only for the update itself
+    @Transactional
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount "
+            + "WHERE a.id = :id AND a.status = :status AND a.balance >= :amount")
+    int debitIfSufficient(@Param("id") Long id,
+                          @Param("amount") BigDecimal amount,
+                          @Param("status") AccountStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount WHERE a.id = :id AND a.status = :status")
+    int creditIfStatus(@Param("id") Long id,
+                       @Param("amount") BigDecimal amount,
+                       @Param("status") AccountStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount WHERE a.id = :id")
+    int addToBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Account a SET a.balanceShards = :shards WHERE a.id = :id")
+    int updateBalanceShards(@Param("id") Long id, @Param("shards") Integer shards);
+
+    // One statement, so the account row and its shards are read from the same snapshot
+    @Query("SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceShard s "
+            + "WHERE s.accountId = a.id), 0) FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findTotalBalance(@Param("id") Long id);
+
+    @Query("SELECT a.userId AS userId, a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceShard s "
+            + "WHERE s.accountId = a.id), 0) AS balance FROM Account a WHERE a.id = :id")
+    Optional<BalanceView> findBalanceView(@Param("id") Long id);
+
+    @Query("SELECT a.id AS id, a.balanceShards AS balanceShards FROM Account a WHERE a.balanceShards > 0")
+    List<ShardedAccount> findShardedAccounts();
+
+    // Keyset page for the PDF report; balances include any shards, like GET /accounts/{id}/balance
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.accountType AS accountType, "
+            + "a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceShard s WHERE s.accountId = a.id), 0) AS balance, "
+            + "a.interestRate AS interestRate, a.status AS status, a.opendAt AS opendAt "
+            + "FROM Account a WHERE a.userId = :userId AND a.id > :afterId ORDER BY a.id")
+    List<ReportRow> findReportRows(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    // POST /accounts/_bulk: one IN query per chunk, reading only the columns the summary needs
+    @Query("SELECT a.id AS id, a.userId AS userId, a.status AS status, "
+            + "a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceShard s WHERE s.accountId = a.id), 0) AS balance "
+            + "FROM Account a WHERE a.id IN :ids")
+    List<SummaryRow> findSummaries(@Param("ids") Collection<Long> ids);
+
+    // Page of the admin listing with owners; balances include any shards
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.accountType AS accountType, a.status AS status, "
+            + "a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceShard s WHERE s.accountId = a.id), 0) AS balance, "
+            + "a.userId AS userId FROM Account a ORDER BY a.id")
+    List<ListingRow> findListingRows(Pageable pageable);
+
+    // Same without the balance, which spares the shard subquery
+    @Query("SELECT a.id AS id, a.userId AS userId, a.status AS status FROM Account a WHERE a.id IN :ids")
+    List<StatusRow> findStatuses(@Param("ids") Collection<Long> ids);
+
+    interface ReportRow {
+        Long getId();
+
+        String getAccountNumber();
+
+        AccountType getAccountType();
+
+        BigDecimal getBalance();
+
+        Double getInterestRate();
+
+        AccountStatus getStatus();
+
+        LocalDateTime getOpendAt();
+    }
+
+    interface ListingRow {
+        Long getId();
+
+        String getAccountNumber();
+
+        AccountType getAccountType();
+
+        AccountStatus getStatus();
+
+        BigDecimal getBalance();
+
+        Long getUserId();
+    }
+
+    interface BalanceView {
+        Long getUserId();
+
+        BigDecimal getBalance();
+    }
+
+    interface ShardedAccount {
+        Long getId();
+
+        Integer getBalanceShards();
+    }
+
+    interface StatusRow {
+        Long getId();
+
+        Long getUserId();
+
+        AccountStatus getStatus();
+    }
+
+    interface SummaryRow extends StatusRow {
+        BigDecimal getBalance();
+    }
 }
@@ -0,0 +1,11 @@
+package com.account_service.repository;
+
+import com.account_service.model.AppliedOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface AppliedOperationRepository extends JpaRepository<AppliedOperation, Long> {
+
+    Optional<AppliedOperation> findByOperationKey(String operationKey);
+}
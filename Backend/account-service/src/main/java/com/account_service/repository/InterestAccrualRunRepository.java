@@ -0,0 +1,9 @@
+package com.account_service.repository;
+
+import com.account_service.model.InterestAccrualRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+public interface InterestAccrualRunRepository extends JpaRepository<InterestAccrualRun, LocalDate> {
+}
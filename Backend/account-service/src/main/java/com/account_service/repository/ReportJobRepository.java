@@ -0,0 +1,30 @@
+package com.account_service.repository;
+
+import com.account_service.model.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    Optional<ReportJob> findByActiveUserId(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportJob j WHERE j.completedAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Jobs whose instance went away before finishing them; frees their users to submit again
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :failed, j.error = 'Abandoned', j.activeUserId = null, j.completedAt = :now "
+            + "WHERE j.activeUserId IS NOT NULL AND j.submittedAt < :cutoff")
+    int failSubmittedBefore(@Param("cutoff") LocalDateTime cutoff,
+                            @Param("now") LocalDateTime now,
+                            @Param("failed") ReportJob.Status failed);
+}
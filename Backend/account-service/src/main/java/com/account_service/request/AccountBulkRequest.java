@@ -0,0 +1,17 @@
+package com.account_service.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBulkRequest {
+    private List<Long> ids;
+    // Any of id, status, balance, currency; null or empty means all of them. The id is always returned
+    private Set<String> fields;
+}
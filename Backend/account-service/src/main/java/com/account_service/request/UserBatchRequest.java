@@ -0,0 +1,14 @@
+package com.account_service.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBatchRequest {
+    private List<Long> ids;     // user-service takes at most 1000 per call
+}
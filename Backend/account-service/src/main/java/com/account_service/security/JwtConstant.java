@@ -1,6 +0,0 @@
-package com.account_service.security;
-
-public class JwtConstant {
-    public static final String SECRET_KEY="my_super_secure_secret_key_for_jwt_2026_project_secure";
-    public static final String JWT_HEADER = "Authorization";
-}
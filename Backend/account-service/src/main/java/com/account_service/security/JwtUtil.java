@@ -1,36 +1,21 @@
 package com.account_service.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-
 @Component
 public class JwtUtil {
 
-    private final String secret;
+    private final JwtVerifier jwtVerifier;
 
-    public JwtUtil(@Value("${jwt.secret}") String secret) {
-        this.secret = secret;
+    public JwtUtil(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
     }
 
     public Long extractUserId(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-
-            return Long.valueOf(claims.getSubject());   // now it will exist
+            return jwtVerifier.verify(token).userId();
         } catch (Exception e) {
             throw new RuntimeException("Invalid JWT token", e);
         }
     }
-}
\ No newline at end of file
+}
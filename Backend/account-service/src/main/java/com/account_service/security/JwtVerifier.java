@@ -0,0 +1,106 @@
+package com.account_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Verifies bearer tokens for {@link JwtAuthenticationFilter} and {@link JwtUtil}. The signing
+ * key and parser are built once (jjwt parsers are immutable and thread-safe), and tokens that
+ * verified are remembered until their {@code exp}, keyed by a SHA-256 of the token so the raw
+ * token is never held. Repeat requests with the same token then skip the HMAC and JSON parsing.
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
+    private final Duration maxTtl;
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret,
+                       @Value("${app.security.token-cache.max-size:10000}") long maxSize,
+                       @Value("${app.security.token-cache.max-ttl:PT10M}") Duration maxTtl) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.maxTtl = maxTtl;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return ttlNanos(token);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return ttlNanos(token);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null && Instant.now().isBefore(cached.expiresAt())) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Instant now = Instant.now();
+        Instant expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().toInstant()
+                : now.plus(maxTtl);
+        VerifiedToken result = new VerifiedToken(
+                Long.valueOf(claims.getSubject()),
+                AuthorityUtils.commaSeparatedStringToAuthorityList(String.valueOf(claims.get("authorities"))),
+                expiresAt.isAfter(now.plus(maxTtl)) ? now.plus(maxTtl) : expiresAt);
+        verified.put(key, result);
+        return result;
+    }
+
+    private long ttlNanos(VerifiedToken token) {
+        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * What the rest of the service needs from a token that passed verification.
+     */
+    public record VerifiedToken(Long userId, List<GrantedAuthority> authorities, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,335 @@
+package com.account_service.service;
+
+import com.account_service.entity.AccountStatus;
+import com.account_service.model.Account;
+import com.account_service.model.AccountBalanceShard;
+import com.account_service.model.AppliedOperation;
+import com.account_service.repository.AccountBalanceShardRepository;
+import com.account_service.repository.AccountRepository;
+import com.account_service.repository.AppliedOperationRepository;
+import com.account_service.security.AuthenticatedUserProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Applies debits and credits for transaction-service. Each change is a single conditional
+ * UPDATE run and committed while holding the account's lock stripe, so concurrent requests
+ * never read-modify-write the balance and a debit can never take it below zero.
+ *
+ * <p>Hot accounts can be split into balance shards. Credits to them skip the lock stripe and
+ * land on a random shard row, so they stop queueing behind each other; debits stay serialized
+ * and, when the account row alone cannot cover them, sweep the shards into it first.
+ *
+ * <p>Callers that may repeat a call (a retry after a timeout) pass an operation key. The change
+ * and an {@link AppliedOperation} row with that key commit together, so a repeat is a no-op.
+ */
+@Service
+public class AccountBalanceService {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceShardRepository shardRepository;
+    private final AppliedOperationRepository operationRepository;
+    private final AccountLockStripes lockStripes;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceCache balanceCache;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final int maxShards;
+
+    // Shard count per sharded account. It may lag the database by one refresh, which only
+    // sends a few credits to the account row or to a shard that is about to be folded back.
+    private volatile Map<Long, Integer> shardCounts = Map.of();
+
+    public AccountBalanceService(AccountRepository accountRepository,
+                                 AccountBalanceShardRepository shardRepository,
+                                 AppliedOperationRepository operationRepository,
+                                 AccountLockStripes lockStripes,
+                                 TransactionTemplate transactionTemplate,
+                                 BalanceCache balanceCache,
+                                 AuthenticatedUserProvider authenticatedUserProvider,
+                                 @Value("${app.balance.sharding.max-shards:64}") int maxShards) {
+        this.accountRepository = accountRepository;
+        this.shardRepository = shardRepository;
+        this.operationRepository = operationRepository;
+        this.lockStripes = lockStripes;
+        this.transactionTemplate = transactionTemplate;
+        this.balanceCache = balanceCache;
+        this.authenticatedUserProvider = authenticatedUserProvider;
+        this.maxShards = maxShards;
+    }
+
+    public void debit(Long accountId, BigDecimal amount) {
+        debit(accountId, amount, null, null);
+    }
+
+    /**
+     * Debits the account once per {@code operationKey}: a repeat of a debit that already
+     * committed under the key returns without touching the balance. A {@code null} key applies
+     * the debit unconditionally.
+     */
+    public void debit(Long accountId, BigDecimal amount, String operationKey, String description) {
+        validateAmount(amount);
+        AppliedOperation operation = operation(operationKey, accountId, AppliedOperation.Type.DEBIT, amount, description);
+        if (alreadyApplied(operation)) {
+            return;
+        }
+        int updated;
+        try {
+            updated = lockStripes.withLock(accountId, () -> transactionTemplate.execute(status -> {
+                record(operation);
+                int rows = accountRepository.debitIfSufficient(accountId, amount, AccountStatus.ACTIVE);
+                if (rows == 0 && sweepShards(accountId).signum() > 0) {
+                    rows = accountRepository.debitIfSufficient(accountId, amount, AccountStatus.ACTIVE);
+                }
+                if (rows == 0) {
+                    status.setRollbackOnly();
+                }
+                return rows;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded the same key first
+            if (alreadyApplied(operation)) {
+                return;
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            Account account = requireActive(accountId);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Insufficient funds in account " + account.getId());
+        }
+        balanceCache.onBalanceChanged(accountId);
+    }
+
+    public void credit(Long accountId, BigDecimal amount) {
+        credit(accountId, amount, null, null);
+    }
+
+    /**
+     * Credits the account once per {@code operationKey}, the same way as
+     * {@link #debit(Long, BigDecimal, String, String)}.
+     */
+    public void credit(Long accountId, BigDecimal amount, String operationKey, String description) {
+        validateAmount(amount);
+        AppliedOperation operation = operation(operationKey, accountId, AppliedOperation.Type.CREDIT, amount, description);
+        if (alreadyApplied(operation)) {
+            return;
+        }
+        try {
+            Integer shards = shardCounts.get(accountId);
+            if (shards != null) {
+                int shardNo = ThreadLocalRandom.current().nextInt(shards);
+                if (recorded(operation, () -> shardRepository.creditShard(accountId, shardNo, amount, AccountStatus.ACTIVE)) == 1) {
+                    balanceCache.onBalanceChanged(accountId);
+                    return;
+                }
+            }
+            int updated = lockStripes.withLock(accountId,
+                    () -> recorded(operation, () -> accountRepository.creditIfStatus(accountId, amount, AccountStatus.ACTIVE)));
+            if (updated == 0) {
+                requireActive(accountId);
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (alreadyApplied(operation)) {
+                return;
+            }
+            throw e;
+        }
+        balanceCache.onBalanceChanged(accountId);
+    }
+
+    /**
+     * The caller's balance for one of their accounts, served from {@link BalanceCache} when it
+     * has a current entry.
+     */
+    public BigDecimal balanceForCurrentUser(Long accountId) {
+        Long userId = authenticatedUserProvider.getUserId();
+
+        BalanceCache.Entry entry = balanceCache.get(accountId, id -> accountRepository.findBalanceView(id)
+                .map(view -> BalanceCache.Entry.of(view.getUserId(), view.getBalance()))
+                .orElse(null));
+        if (entry == null) {
+            throw new RuntimeException("Account not found");
+        }
+        if (!entry.ownerId().equals(userId)) {
+            throw new RuntimeException("Access denied: not your account");
+        }
+        return entry.balance();
+    }
+
+    /**
+     * The account's balance including every shard, read in one statement.
+     */
+    public BigDecimal balanceOf(Long accountId) {
+        return accountRepository.findTotalBalance(accountId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found: " + accountId));
+    }
+
+    /**
+     * Sets how many shards take the account's credits; 0 turns sharding off. Missing shard rows
+     * are created here, surplus ones are folded back by {@link #consolidate()}.
+     */
+    public void setShardCount(Long accountId, int shards) {
+        if (shards < 0 || shards > maxShards) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Shard count must be between 0 and " + maxShards);
+        }
+        lockStripes.withLock(accountId, () -> transactionTemplate.execute(status -> {
+            if (accountRepository.updateBalanceShards(accountId, shards) == 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found: " + accountId);
+            }
+
+            Set<Integer> existing = shardRepository.findByAccountId(accountId).stream()
+                    .map(AccountBalanceShard::getShardNo)
+                    .collect(Collectors.toSet());
+            for (int shardNo = 0; shardNo < shards; shardNo++) {
+                if (!existing.contains(shardNo)) {
+                    shardRepository.save(AccountBalanceShard.builder()
+                            .accountId(accountId)
+                            .shardNo(shardNo)
+                            .balance(BigDecimal.ZERO)
+                            .build());
+                }
+            }
+            return null;
+        }));
+        refreshShardCounts();
+    }
+
+    @Scheduled(fixedDelayString = "${app.balance.sharding.refresh-interval-ms:5000}")
+    public void refreshShardCounts() {
+        shardCounts = accountRepository.findShardedAccounts().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        AccountRepository.ShardedAccount::getId,
+                        AccountRepository.ShardedAccount::getBalanceShards));
+    }
+
+    /**
+     * Folds every shard balance back into its account row and drops shard rows the account no
+     * longer uses, so the shard table stays bounded by the configured counts.
+     */
+    @Scheduled(fixedDelayString = "${app.balance.sharding.consolidate-interval-ms:60000}")
+    public void consolidate() {
+        Set<Long> accountIds = new HashSet<>(shardRepository.findShardedAccountIds());
+        for (Long accountId : accountIds) {
+            lockStripes.withLock(accountId, () -> transactionTemplate.execute(status -> {
+                sweepShards(accountId);
+                int keep = accountRepository.findById(accountId)
+                        .map(Account::getBalanceShards)
+                        .orElse(0);
+                List<AccountBalanceShard> surplus = shardRepository.findByAccountId(accountId).stream()
+                        .filter(shard -> shard.getShardNo() >= keep)
+                        .toList();
+                shardRepository.deleteAll(surplus);
+                return null;
+            }));
+        }
+    }
+
+    // Caller holds the account's stripe and an open transaction
+    private BigDecimal sweepShards(Long accountId) {
+        BigDecimal swept = BigDecimal.ZERO;
+        for (AccountBalanceShard shard : shardRepository.lockByAccountId(accountId)) {
+            if (shard.getBalance().signum() != 0) {
+                swept = swept.add(shard.getBalance());
+                shard.setBalance(BigDecimal.ZERO);
+            }
+        }
+        if (swept.signum() != 0) {
+            shardRepository.flush();
+            accountRepository.addToBalance(accountId, swept);
+        }
+        return swept;
+    }
+
+    private static AppliedOperation operation(String operationKey, Long accountId, AppliedOperation.Type type,
+                                              BigDecimal amount, String description) {
+        if (operationKey == null || operationKey.isBlank()) {
+            return null;
+        }
+        if (operationKey.length() > AppliedOperation.MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Operation key cannot be longer than " + AppliedOperation.MAX_KEY_LENGTH + " characters");
+        }
+        return AppliedOperation.builder()
+                .operationKey(operationKey)
+                .accountId(accountId)
+                .type(type)
+                .amount(amount)
+                .description(description != null && description.length() > AppliedOperation.MAX_DESCRIPTION_LENGTH
+                        ? description.substring(0, AppliedOperation.MAX_DESCRIPTION_LENGTH)
+                        : description)
+                .appliedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private boolean alreadyApplied(AppliedOperation operation) {
+        if (operation == null) {
+            return false;
+        }
+        return operationRepository.findByOperationKey(operation.getOperationKey())
+                .map(applied -> {
+                    if (!applied.sameChangeAs(operation)) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Operation key " + operation.getOperationKey() + " was already used for a different change");
+                    }
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    // Caller has an open transaction. A fresh copy each time, since a rolled-back insert leaves its id behind.
+    private void record(AppliedOperation operation) {
+        if (operation != null) {
+            operationRepository.saveAndFlush(operation.toBuilder().build());
+        }
+    }
+
+    // Runs the change and records the operation in one transaction; without a key it is the change alone
+    private int recorded(AppliedOperation operation, IntSupplier change) {
+        if (operation == null) {
+            return change.getAsInt();
+        }
+        return transactionTemplate.execute(status -> {
+            record(operation);
+            int rows = change.getAsInt();
+            if (rows == 0) {
+                status.setRollbackOnly();
+            }
+            return rows;
+        });
+    }
+
+    // Works out why a conditional update matched no row
+    private Account requireActive(Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found: " + accountId));
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Account " + accountId + " is " + account.getStatus());
+        }
+        return account;
+    }
+
+    private void validateAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be positive");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount cannot have more than 2 decimal places");
+        }
+    }
+}
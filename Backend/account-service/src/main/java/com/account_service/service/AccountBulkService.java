@@ -0,0 +1,105 @@
+package com.account_service.service;
+
+import com.account_service.dto.AccountSummaryDto;
+import com.account_service.repository.AccountRepository;
+import com.account_service.request.AccountBulkRequest;
+import com.account_service.security.AuthenticatedUserProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves {@code POST /accounts/_bulk}: summaries of many accounts for one request, so callers
+ * such as transaction-service do not make one {@code GET /accounts/{id}} per account.
+ *
+ * <p>Ids are deduplicated and read with one {@code IN} query per {@code chunk-size} ids; when the
+ * balance is not asked for, the cheaper status-only query is used. Results come back in request
+ * order with unknown ids left out, and always carry the id so callers can match them up. Any
+ * caller may see an account's status, but its balance only goes to the owner, a SERVICE caller
+ * or an ADMIN.
+ */
+@Service
+public class AccountBulkService {
+
+    public static final Set<String> FIELDS = Set.of("id", "status", "balance", "currency");
+
+    private final AccountRepository accountRepository;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final int maxIds;
+    private final int chunkSize;
+    private final String currency;
+
+    public AccountBulkService(AccountRepository accountRepository,
+                              AuthenticatedUserProvider authenticatedUserProvider,
+                              @Value("${app.accounts.bulk.max-ids:2000}") int maxIds,
+                              @Value("${app.accounts.bulk.chunk-size:500}") int chunkSize,
+                              @Value("${app.accounts.currency:ETB}") String currency) {
+        this.accountRepository = accountRepository;
+        this.authenticatedUserProvider = authenticatedUserProvider;
+        this.maxIds = maxIds;
+        this.chunkSize = chunkSize;
+        this.currency = currency;
+    }
+
+    public List<AccountSummaryDto> getAccounts(AccountBulkRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one account id is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        ids.remove(null);
+        if (ids.size() > maxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxIds + " account ids per request");
+        }
+        Set<String> fields = request.getFields() == null || request.getFields().isEmpty() ? FIELDS : request.getFields();
+        if (!FIELDS.containsAll(fields)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fields must be among " + FIELDS);
+        }
+        boolean withBalance = fields.contains("balance");
+
+        Long userId = authenticatedUserProvider.getUserId();
+        boolean privileged = hasAnyRole("ROLE_SERVICE", "ROLE_ADMIN");
+
+        Map<Long, AccountSummaryDto> found = new HashMap<>(ids.size() * 2);
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            List<Long> chunk = all.subList(from, Math.min(from + chunkSize, all.size()));
+            List<? extends AccountRepository.StatusRow> rows = withBalance
+                    ? accountRepository.findSummaries(chunk)
+                    : accountRepository.findStatuses(chunk);
+            for (AccountRepository.StatusRow row : rows) {
+                boolean balanceVisible = privileged || row.getUserId().equals(userId);
+                found.put(row.getId(), new AccountSummaryDto(
+                        row.getId(),
+                        fields.contains("status") ? row.getStatus().name() : null,
+                        withBalance && balanceVisible ? ((AccountRepository.SummaryRow) row).getBalance() : null,
+                        fields.contains("currency") ? currency : null));
+            }
+        }
+
+        List<AccountSummaryDto> result = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            AccountSummaryDto summary = found.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasAnyRole(String... roles) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Set<String> wanted = Set.of(roles);
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> wanted.contains(authority.getAuthority()));
+    }
+}
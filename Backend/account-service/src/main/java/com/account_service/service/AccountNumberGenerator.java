@@ -0,0 +1,10 @@
+package com.account_service.service;
+
+/**
+ * Source of new account numbers. Implementations must never return the same number twice,
+ * across restarts and across instances.
+ */
+public interface AccountNumberGenerator {
+
+    String next();
+}
@@ -0,0 +1,171 @@
+package com.account_service.service;
+
+import com.account_service.repository.AccountRepository;
+import com.account_service.repository.AccountRepository.ReportRow;
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Writes the comprehensive account report for one user straight to an output stream.
+ *
+ * <p>Accounts are read in keyset pages of projections (nothing lands in the persistence
+ * context), and the table is marked incomplete so OpenPDF lays out and writes each finished page
+ * as rows arrive. Memory stays at roughly one page of accounts plus one PDF page, whatever the
+ * number of accounts. Fonts, colours and formatters are created once per JVM.
+ */
+@Service
+public class AccountReportService {
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 22, Color.BLUE);
+    private static final Font DATE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 12);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.WHITE);
+    private static final Font DATA_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font EMPTY_FONT = FontFactory.getFont(FontFactory.HELVETICA, 12, Color.RED);
+    private static final Font TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11);
+    private static final Font FOOTER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.GRAY);
+    private static final Color HEADER_BACKGROUND = new Color(0, 51, 102);
+
+    private static final DateTimeFormatter GENERATED_FORMAT = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a");
+    private static final DateTimeFormatter OPENED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final float[] COLUMN_WIDTHS = {2.5f, 1.4f, 1.8f, 1.3f, 1.4f, 2.2f};
+    private static final String[] HEADERS = {"Account Number", "Type", "Balance", "Interest Rate", "Status", "Opened At"};
+
+    private final AccountRepository accountRepository;
+    private final int pageSize;
+
+    public AccountReportService(AccountRepository accountRepository,
+                                @Value("${app.report.page-size:500}") int pageSize) {
+        this.accountRepository = accountRepository;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * A hash over every field the report shows for the user's accounts. Equal fingerprints mean
+     * a previously rendered report would come out the same, apart from its generation date.
+     */
+    public String fingerprint(Long userId) {
+        MessageDigest digest = sha256();
+        Long lastId = 0L;
+        List<ReportRow> page;
+        do {
+            page = accountRepository.findReportRows(userId, lastId, Limit.of(pageSize));
+            for (ReportRow account : page) {
+                String row = account.getId() + "|" + account.getAccountNumber() + "|" + account.getAccountType()
+                        + "|" + account.getBalance().toPlainString() + "|" + account.getInterestRate()
+                        + "|" + account.getStatus() + "|" + account.getOpendAt() + "\n";
+                digest.update(row.getBytes(StandardCharsets.UTF_8));
+                lastId = account.getId();
+            }
+        } while (page.size() == pageSize);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public void writeComprehensiveReport(Long userId, OutputStream out) {
+        try {
+            // Landscape for better table readability
+            Document document = new Document(PageSize.A4.rotate());
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            Paragraph title = new Paragraph("COMPREHENSIVE ACCOUNT REPORT", TITLE_FONT);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(10);
+            document.add(title);
+
+            Paragraph datePara = new Paragraph("Generated on: " + LocalDateTime.now().format(GENERATED_FORMAT), DATE_FONT);
+            datePara.setAlignment(Element.ALIGN_CENTER);
+            datePara.setSpacingAfter(20);
+            document.add(datePara);
+
+            PdfPTable table = new PdfPTable(COLUMN_WIDTHS);
+            table.setWidthPercentage(100);
+            table.setSpacingBefore(10);
+            table.setHeaderRows(1);
+            // Lets document.add flush finished rows and pages instead of holding the whole table
+            table.setComplete(false);
+
+            for (String header : HEADERS) {
+                PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
+                cell.setBackgroundColor(HEADER_BACKGROUND);
+                cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+                cell.setPadding(8);
+                table.addCell(cell);
+            }
+
+            BigDecimal totalBalance = BigDecimal.ZERO;
+            long rows = 0;
+            Long lastId = 0L;
+            List<ReportRow> page;
+            do {
+                page = accountRepository.findReportRows(userId, lastId, Limit.of(pageSize));
+                for (ReportRow account : page) {
+                    table.addCell(new Phrase(account.getAccountNumber(), DATA_FONT));
+                    table.addCell(new Phrase(String.valueOf(account.getAccountType()), DATA_FONT));
+                    table.addCell(new Phrase(account.getBalance().toPlainString(), DATA_FONT));
+                    table.addCell(new Phrase(account.getInterestRate() + "%", DATA_FONT));
+                    table.addCell(new Phrase(String.valueOf(account.getStatus()), DATA_FONT));
+                    table.addCell(new Phrase(account.getOpendAt() == null ? "" : account.getOpendAt().format(OPENED_FORMAT), DATA_FONT));
+
+                    totalBalance = totalBalance.add(account.getBalance());
+                    lastId = account.getId();
+                }
+                rows += page.size();
+                document.add(table);
+            } while (page.size() == pageSize);
+
+            if (rows == 0) {
+                PdfPCell emptyCell = new PdfPCell(new Phrase("No accounts found.", EMPTY_FONT));
+                emptyCell.setColspan(6);
+                emptyCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+                emptyCell.setPadding(20);
+                table.addCell(emptyCell);
+            } else {
+                PdfPCell totalLabel = new PdfPCell(new Phrase("TOTAL BALANCE ACROSS ALL ACCOUNTS", TOTAL_FONT));
+                totalLabel.setColspan(5);
+                totalLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
+                totalLabel.setBackgroundColor(Color.LIGHT_GRAY);
+                totalLabel.setPadding(8);
+                table.addCell(totalLabel);
+
+                PdfPCell totalValue = new PdfPCell(new Phrase(totalBalance.toPlainString() + " ETB", TOTAL_FONT));
+                totalValue.setHorizontalAlignment(Element.ALIGN_CENTER);
+                totalValue.setBackgroundColor(Color.LIGHT_GRAY);
+                totalValue.setPadding(8);
+                table.addCell(totalValue);
+            }
+
+            table.setComplete(true);
+            document.add(table);
+
+            Paragraph footer = new Paragraph("\nThis is a system-generated report. For official use only.", FOOTER_FONT);
+            footer.setAlignment(Element.ALIGN_CENTER);
+            document.add(footer);
+
+            document.close();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate comprehensive PDF report", e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
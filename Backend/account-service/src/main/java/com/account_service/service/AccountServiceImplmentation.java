@@ -1,45 +1,56 @@
 package com.account_service.service;
 
+import com.account_service.client.UserProfileCache;
 import com.account_service.client.UserServiceClient;
+import com.account_service.dto.AccountWithOwnerDto;
 import com.account_service.dto.UserProfileDto;
+import com.account_service.dto.UserSummaryDto;
 import com.account_service.entity.AccountStatus;
 import com.account_service.entity.AccountType;
 import com.account_service.model.Account;
 import com.account_service.repository.AccountRepository;
 import com.account_service.request.CreateAccountRequest;
+import com.account_service.request.UserBatchRequest;
 import com.account_service.security.AuthenticatedUserProvider;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import com.lowagie.text.*;
-import com.lowagie.text.pdf.*;
-import java.awt.Color;
-import java.io.ByteArrayOutputStream;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImplmentation {
 
+    // Keeps a page's owners within one user-service batch call (at most 1000 ids)
+    private static final int MAX_LISTING_PAGE_SIZE = 500;
+
     private final AccountRepository accountRepository;
     private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final UserProfileCache userProfileCache;
     private final UserServiceClient userServiceClient;
+    private final AccountNumberGenerator accountNumberGenerator;
 
 
     public Account createAccount(CreateAccountRequest request){
 
         Long userId = authenticatedUserProvider.getUserId();
 
-        UserProfileDto user = userServiceClient.getCurrentUserProfile();
+        UserProfileDto user = userProfileCache.getProfile(userId);
 
         Account account = Account.builder()
                 .userId(userId)
-                .accountNumber(generateAccountNumber())
+                .accountNumber(accountNumberGenerator.next())
                 .accountType(request.getAccountType())
                 .balance(BigDecimal.ZERO)
                 .interestRate(getInterestRate(request.getAccountType()))
@@ -72,10 +83,46 @@ public class AccountServiceImplmentation {
         return accountRepository.findByUserId(userId);
     }
 
-    private String generateAccountNumber(){
-       long timestamp = System.nanoTime();
-       int randomPart = ThreadLocalRandom.current().nextInt(1000,10000);
-       return String.format("AC%012d%04d", timestamp % 1000000000000L, randomPart);
+    /**
+     * A page of all accounts with their owners' names, for admin screens. The owners of the whole
+     * page come from one {@code POST /api/users/_batch} call rather than one call per account; if
+     * user-service fails, the accounts are still listed without owner names.
+     */
+    public List<AccountWithOwnerDto> listAccountsWithOwners(int page, int size){
+        if(page < 0 || size < 1 || size > MAX_LISTING_PAGE_SIZE){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must be >= 0 and size between 1 and " + MAX_LISTING_PAGE_SIZE);
+        }
+        List<AccountRepository.ListingRow> accounts = accountRepository.findListingRows(PageRequest.of(page, size));
+        Map<Long, UserSummaryDto> owners = findOwners(accounts);
+        return accounts.stream()
+                .map(account -> {
+                    UserSummaryDto owner = owners.get(account.getUserId());
+                    return new AccountWithOwnerDto(account.getId(), account.getAccountNumber(), account.getAccountType(),
+                            account.getStatus(), account.getBalance(), account.getUserId(),
+                            owner == null ? null : fullName(owner), owner == null ? null : owner.email());
+                })
+                .toList();
+    }
+
+    private Map<Long, UserSummaryDto> findOwners(List<AccountRepository.ListingRow> accounts){
+        List<Long> userIds = accounts.stream().map(AccountRepository.ListingRow::getUserId).filter(id -> id != null).distinct().toList();
+        if(userIds.isEmpty()){
+            return Map.of();
+        }
+        try {
+            return userServiceClient.getUsers(new UserBatchRequest(userIds)).stream()
+                    .collect(Collectors.toMap(UserSummaryDto::id, Function.identity(), (first, second) -> first));
+        } catch (FeignException e) {
+            log.warn("Looking up {} account owners failed, listing without names: {}", userIds.size(), e.toString());
+            return Map.of();
+        }
+    }
+
+    private static String fullName(UserSummaryDto user){
+        String name = ((user.firstName() == null ? "" : user.firstName()) + " "
+                + (user.lastName() == null ? "" : user.lastName())).trim();
+        return name.isEmpty() ? null : name;
     }
 
     private double getInterestRate(AccountType type){
@@ -88,102 +135,4 @@ public class AccountServiceImplmentation {
         };
 
     }
-
-    public byte[] generateComprehensiveAccountReport() {
-        List<Account> accounts = getMyAccounts();
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            // Landscape for better table readability
-            Document document = new Document(PageSize.A4.rotate());
-            PdfWriter.getInstance(document, baos);
-            document.open();
-
-            // Title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 22, Color.BLUE);
-            Paragraph title = new Paragraph("COMPREHENSIVE ACCOUNT REPORT", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            title.setSpacingAfter(10);
-            document.add(title);
-
-            // Generated date
-            Font dateFont = FontFactory.getFont(FontFactory.HELVETICA, 12);
-            Paragraph datePara = new Paragraph("Generated on: " +
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a")), dateFont);
-            datePara.setAlignment(Element.ALIGN_CENTER);
-            datePara.setSpacingAfter(20);
-            document.add(datePara);
-
-            // Table
-            PdfPTable table = new PdfPTable(new float[]{2.5f, 1.4f, 1.8f, 1.3f, 1.4f, 2.2f});
-            table.setWidthPercentage(100);
-            table.setSpacingBefore(10);
-
-            // Headers
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.WHITE);
-            String[] headers = {"Account Number", "Type", "Balance", "Interest Rate", "Status", "Opened At"};
-
-            for (String header : headers) {
-                PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
-                cell.setBackgroundColor(new Color(0, 51, 102));
-                cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                cell.setPadding(8);
-                table.addCell(cell);
-            }
-
-            // Data rows
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-            BigDecimal totalBalance = BigDecimal.ZERO;
-            Font dataFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-
-            if (accounts.isEmpty()) {
-                PdfPCell emptyCell = new PdfPCell(new Phrase("No accounts found.",
-                        FontFactory.getFont(FontFactory.HELVETICA, 12, Color.RED)));
-                emptyCell.setColspan(6);
-                emptyCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                emptyCell.setPadding(20);
-                table.addCell(emptyCell);
-            } else {
-                for (Account account : accounts) {
-                    table.addCell(new Phrase(account.getAccountNumber(), dataFont));
-                    table.addCell(new Phrase(account.getAccountType().toString(), dataFont));
-                    table.addCell(new Phrase(account.getBalance().toPlainString(), dataFont));
-                    table.addCell(new Phrase(account.getInterestRate() + "%", dataFont));
-                    table.addCell(new Phrase(account.getStatus().toString(), dataFont));
-                    table.addCell(new Phrase(account.getOpendAt().format(formatter), dataFont));
-
-                    totalBalance = totalBalance.add(account.getBalance());
-                }
-
-                // Total row
-                PdfPCell totalLabel = new PdfPCell(new Phrase("TOTAL BALANCE ACROSS ALL ACCOUNTS",
-                        FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11)));
-                totalLabel.setColspan(5);
-                totalLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
-                totalLabel.setBackgroundColor(Color.LIGHT_GRAY);
-                totalLabel.setPadding(8);
-                table.addCell(totalLabel);
-
-                PdfPCell totalValue = new PdfPCell(new Phrase(totalBalance.toPlainString() + " ETB",
-                        FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11)));
-                totalValue.setHorizontalAlignment(Element.ALIGN_CENTER);
-                totalValue.setBackgroundColor(Color.LIGHT_GRAY);
-                totalValue.setPadding(8);
-                table.addCell(totalValue);
-            }
-
-            document.add(table);
-
-            // Footer
-            Paragraph footer = new Paragraph("\nThis is a system-generated report. For official use only.",
-                    FontFactory.getFont(FontFactory.HELVETICA, 9, Color.GRAY));
-            footer.setAlignment(Element.ALIGN_CENTER);
-            document.add(footer);
-
-            document.close();
-            return baos.toByteArray();
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate comprehensive PDF report", e);
-        }
-    }
 }
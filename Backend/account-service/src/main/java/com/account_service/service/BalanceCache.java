@@ -0,0 +1,93 @@
+package com.account_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, short-lived cache of account balances for {@code GET /accounts/{id}/balance}, together with
+ * the owning user so the ownership check needs no query either.
+ *
+ * <p>Every committed balance change bumps a write stamp for the account (stamps are striped, so
+ * memory stays fixed). An entry only counts as a hit while its stamp is current, and a load that
+ * overlaps a write is thrown away, so on one instance a caller never reads a balance older than
+ * its own write. Stamps are local, though: a write through another instance is only seen once
+ * the entry expires, so {@code ttl} is how stale a balance read here can be.
+ */
+@Component
+public class BalanceCache {
+
+    private final Cache<Long, Entry> cache;
+    private final AtomicLongArray writeStamps;
+    private final int stampMask;
+    private final Counter hits;
+    private final Counter misses;
+
+    public BalanceCache(@Value("${app.balance.cache.max-size:100000}") long maxSize,
+                        @Value("${app.balance.cache.stamp-stripes:4096}") int stampStripes,
+                        @Value("${app.balance.cache.ttl:PT2S}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        int size = Integer.highestOneBit(Math.max(1, stampStripes - 1)) << 1;
+        this.writeStamps = new AtomicLongArray(size);
+        this.stampMask = size - 1;
+        this.hits = Counter.builder("account.balance.cache.requests").tag("result", "hit")
+                .description("Balance reads answered from the cache").register(meterRegistry);
+        this.misses = Counter.builder("account.balance.cache.requests").tag("result", "miss")
+                .description("Balance reads that went to the database").register(meterRegistry);
+        Gauge.builder("account.balance.cache.size", cache, Cache::estimatedSize)
+                .description("Cached account balances").register(meterRegistry);
+    }
+
+    public Entry get(Long accountId, Function<Long, Entry> loader) {
+        int stripe = stripe(accountId);
+        long stamp = writeStamps.get(stripe);
+        Entry cached = cache.getIfPresent(accountId);
+        if (cached != null && cached.stamp() == stamp) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        Entry loaded = loader.apply(accountId);
+        if (loaded == null) {
+            return null;
+        }
+        Entry stamped = new Entry(loaded.ownerId(), loaded.balance(), stamp);
+        cache.put(accountId, stamped);
+        // A write that committed while we were loading may not be in what we read
+        if (writeStamps.get(stripe) != stamp) {
+            cache.asMap().remove(accountId, stamped);
+        }
+        return stamped;
+    }
+
+    /**
+     * Call after the change has committed.
+     */
+    public void onBalanceChanged(Long accountId) {
+        writeStamps.incrementAndGet(stripe(accountId));
+        cache.invalidate(accountId);
+    }
+
+    private int stripe(Long accountId) {
+        int h = Long.hashCode(accountId);
+        return (h ^ (h >>> 16)) & stampMask;
+    }
+
+    public record Entry(Long ownerId, BigDecimal balance, long stamp) {
+
+        public static Entry of(Long ownerId, BigDecimal balance) {
+            return new Entry(ownerId, balance, 0);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.account_service.service;
+
+import com.account_service.model.InterestAccrualRun;
+import com.account_service.repository.InterestAccrualRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Nightly interest accrual over all ACTIVE accounts.
+ *
+ * <p>Accounts are split into fixed id ranges of {@code partition-size} ids, and the partitions
+ * are worked through on a fork-join pool. Each partition reads its accounts and adds one day of
+ * interest ({@code balance * rate / 100 / days-in-year}, unrounded) to {@code accrued_interest}.
+ * On the last day of the month the whole cents accrued are posted to the balance, the fraction of
+ * a cent is carried over, and each posting is recorded as an {@code interest-<id>-<yyyy-MM>}
+ * CREDIT in {@code applied_operations}, so balances reconcile with the recorded credits. The
+ * updates and the partition's checkpoint row commit together, so a restarted run skips finished
+ * partitions and a partition is never applied twice, even if two instances run the job at once.
+ */
+@Slf4j
+@Service
+public class InterestAccrualService {
+
+    private static final int ACCRUAL_SCALE = 10;
+    private static final DateTimeFormatter POSTING_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private static final String SELECT_PARTITION =
+            "SELECT a.id, a.balance + COALESCE(s.total, 0), a.interest_rate, COALESCE(a.accrued_interest, 0) FROM accounts a "
+                    + "LEFT JOIN (SELECT account_id, SUM(balance) AS total FROM account_balance_shards "
+                    + "WHERE account_id BETWEEN ? AND ? GROUP BY account_id) s ON s.account_id = a.id "
+                    + "WHERE a.id BETWEEN ? AND ? AND a.status = 'ACTIVE' AND a.interest_rate > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestAccrualRunRepository runRepository;
+    private final BalanceCache balanceCache;
+    private final boolean enabled;
+    private final long partitionSize;
+    private final ForkJoinPool pool;
+
+    public InterestAccrualService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  InterestAccrualRunRepository runRepository,
+                                  BalanceCache balanceCache,
+                                  @Value("${app.interest.enabled:true}") boolean enabled,
+                                  @Value("${app.interest.partition-size:10000}") long partitionSize,
+                                  @Value("${app.interest.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.runRepository = runRepository;
+        this.balanceCache = balanceCache;
+        this.enabled = enabled;
+        this.partitionSize = partitionSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Scheduled(cron = "${app.interest.cron:0 30 1 * * *}")
+    public void scheduledAccrual() {
+        if (enabled) {
+            accrue(LocalDate.now().minusDays(1));
+        }
+    }
+
+    /**
+     * Applies one day of interest for {@code date}, resuming a partial run for the same date.
+     *
+     * @return the run record, completed
+     */
+    public InterestAccrualRun accrue(LocalDate date) {
+        InterestAccrualRun run = runRepository.findById(date)
+                .orElseGet(() -> new InterestAccrualRun(date, LocalDateTime.now(), null, null, null));
+        if (run.getCompletedAt() != null) {
+            return run;
+        }
+        runRepository.save(run);
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM accounts", Long.class);
+        long partitions = maxId == null ? 0 : (maxId + partitionSize - 1) / partitionSize;
+        Set<Long> done = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT partition_no FROM interest_accrual_checkpoints WHERE accrual_date = ?", Long.class, Date.valueOf(date)));
+        log.info("Interest accrual for {}: {} partitions, {} already done", date, partitions, done.size());
+
+        pool.invoke(new PartitionRange(date, 0, partitions, done));
+
+        // Totals come from the checkpoints, so partitions applied before a restart are counted too
+        Object[] totals = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(accounts), 0), COALESCE(SUM(interest), 0) FROM interest_accrual_checkpoints WHERE accrual_date = ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getBigDecimal(2)}, Date.valueOf(date));
+        run.setAccounts((Long) totals[0]);
+        run.setInterest((BigDecimal) totals[1]);
+        run.setCompletedAt(LocalDateTime.now());
+        return runRepository.save(run);
+    }
+
+    private void accruePartition(LocalDate date, long partitionNo) {
+        long firstId = partitionNo * partitionSize + 1;
+        long lastId = firstId + partitionSize - 1;
+        BigDecimal daysInYear = BigDecimal.valueOf(date.lengthOfYear());
+        boolean postingDay = date.getDayOfMonth() == date.lengthOfMonth();
+        String postingMonth = date.format(POSTING_MONTH);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> postings = new ArrayList<>();
+        AtomicReference<BigDecimal> total = new AtomicReference<>(BigDecimal.ZERO);
+        jdbcTemplate.query(SELECT_PARTITION, rs -> {
+            BigDecimal interest = rs.getBigDecimal(2)
+                    .multiply(BigDecimal.valueOf(rs.getDouble(3)))
+                    .divide(BigDecimal.valueOf(100).multiply(daysInYear), ACCRUAL_SCALE, RoundingMode.HALF_EVEN);
+            if (interest.signum() <= 0) {
+                return;
+            }
+            long accountId = rs.getLong(1);
+            BigDecimal accrued = rs.getBigDecimal(4).add(interest);
+            BigDecimal posted = postingDay ? accrued.setScale(2, RoundingMode.DOWN) : BigDecimal.ZERO;
+            updates.add(new Object[]{posted, accrued.subtract(posted), accountId});
+            if (posted.signum() > 0) {
+                postings.add(new Object[]{"interest-" + accountId + "-" + postingMonth, accountId, posted, now});
+                total.set(total.get().add(posted));
+            }
+        }, firstId, lastId, firstId, lastId);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Checkpoint first: a second runner on the same partition fails here, before any update
+                jdbcTemplate.update("INSERT INTO interest_accrual_checkpoints "
+                                + "(accrual_date, partition_no, accounts, interest, completed_at) VALUES (?, ?, ?, ?, ?)",
+                        Date.valueOf(date), partitionNo, updates.size(), total.get(), now);
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate("UPDATE accounts SET balance = balance + ?, accrued_interest = ? "
+                            + "WHERE id = ? AND status = 'ACTIVE'", updates);
+                }
+                if (!postings.isEmpty()) {
+                    jdbcTemplate.batchUpdate("INSERT INTO applied_operations "
+                            + "(operation_key, account_id, type, amount, description, applied_at) "
+                            + "VALUES (?, ?, 'CREDIT', ?, 'Interest', ?)", postings);
+                }
+            });
+        } catch (DuplicateKeyException e) {
+            log.info("Interest partition {} for {} was applied by another run", partitionNo, date);
+            return;
+        }
+        for (Object[] posting : postings) {
+            balanceCache.onBalanceChanged((Long) posting[1]);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Splits [from, to) in half until a single partition is left, then applies it.
+     */
+    private final class PartitionRange extends RecursiveAction {
+
+        private final LocalDate date;
+        private final long from;
+        private final long to;
+        private final Set<Long> done;
+
+        private PartitionRange(LocalDate date, long from, long to, Set<Long> done) {
+            this.date = date;
+            this.from = from;
+            this.to = to;
+            this.done = done;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to && !done.contains(from)) {
+                    accruePartition(date, from);
+                }
+                return;
+            }
+            long mid = (from + to) >>> 1;
+            invokeAll(new PartitionRange(date, from, mid, done), new PartitionRange(date, mid, to, done));
+        }
+    }
+}
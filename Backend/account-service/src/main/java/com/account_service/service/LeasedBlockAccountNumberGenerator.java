@@ -0,0 +1,148 @@
+package com.account_service.service;
+
+import com.account_service.model.AccountNumberSequence;
+import com.account_service.repository.AccountNumberSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account numbers from ranges leased out of {@code account_number_sequences}. Each lease moves
+ * the shared high-water mark forward by {@code block-size} under a row lock, so no two instances
+ * ever hold overlapping ranges; within a range numbers come from an {@link AtomicLong} with no
+ * locking and no database access.
+ *
+ * <p>Numbers are {@code AC}, a 16-digit zero-padded sequence value and a Luhn check digit. The
+ * older random numbers have 16 digits in total, so the two formats can never collide.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.account-number", name = "generator", havingValue = "leased-block", matchIfMissing = true)
+public class LeasedBlockAccountNumberGenerator implements AccountNumberGenerator {
+
+    static final String SEQUENCE_NAME = "account_number";
+    private static final int BODY_DIGITS = 16;
+
+    private final AccountNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final long blockSize;
+    private final long start;
+
+    private volatile Block block = new Block(0, 0);
+
+    public LeasedBlockAccountNumberGenerator(AccountNumberSequenceRepository sequenceRepository,
+                                             PlatformTransactionManager transactionManager,
+                                             @Value("${app.account-number.block-size:1000}") long blockSize,
+                                             @Value("${app.account-number.start:1}") long start) {
+        this.sequenceRepository = sequenceRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        // Commit the lease on its own, whatever the caller's transaction does afterwards
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        this.start = start;
+    }
+
+    @Override
+    public String next() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return format(value);
+            }
+            synchronized (this) {
+                // Only the first thread to find the block used up leases the next one
+                if (block == current) {
+                    block = lease();
+                }
+            }
+        }
+    }
+
+    private Block lease() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long first = leaseTransaction.execute(status -> {
+                    AccountNumberSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_NAME)
+                            .orElseGet(() -> new AccountNumberSequence(SEQUENCE_NAME, start));
+                    long leased = sequence.getNextValue();
+                    sequence.setNextValue(leased + blockSize);
+                    sequenceRepository.saveAndFlush(sequence);
+                    return leased;
+                });
+                return new Block(first, first + blockSize);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the sequence row first; lock it and lease again
+                if (attempt == 3) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    static String format(long value) {
+        char[] chars = new char[2 + BODY_DIGITS + 1];
+        chars[0] = 'A';
+        chars[1] = 'C';
+        long remaining = value;
+        for (int i = 1 + BODY_DIGITS; i >= 2; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        if (remaining != 0) {
+            throw new IllegalStateException("Account number sequence exhausted at " + value);
+        }
+        chars[chars.length - 1] = (char) ('0' + luhnCheckDigit(chars, 2, 2 + BODY_DIGITS));
+        return new String(chars);
+    }
+
+    /**
+     * True if {@code accountNumber} is in this generator's format and its check digit matches.
+     */
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != 2 + BODY_DIGITS + 1 || !accountNumber.startsWith("AC")) {
+            return false;
+        }
+        char[] chars = accountNumber.toCharArray();
+        for (int i = 2; i < chars.length; i++) {
+            if (chars[i] < '0' || chars[i] > '9') {
+                return false;
+            }
+        }
+        return chars[chars.length - 1] - '0' == luhnCheckDigit(chars, 2, chars.length - 1);
+    }
+
+    // Luhn over digits [from, to): double every second digit counting from the rightmost
+    private static int luhnCheckDigit(char[] digits, int from, int to) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = to - 1; i >= from; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.account_service.service;
+
+import com.account_service.dto.ReportJobResponse;
+import com.account_service.model.ReportJob;
+import com.account_service.repository.ReportJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders account reports in the background: submit a job, poll it, download the PDF.
+ *
+ * <p>Rendering is CPU-bound, so it runs on a fixed pool sized to the cores with a bounded queue;
+ * when the queue is full a submit is refused with 429 instead of tying up request threads.
+ * Job state lives in {@code report_jobs}, so a poll can land on any instance and the one-job-per-
+ * user limit holds across them; {@code cache-dir} has to be shared by the instances for the same
+ * reason. Finished reports are kept there as {@code <userId>-<fingerprint>.pdf}, where the
+ * fingerprint covers everything the report shows, so a resubmit after no account changes reuses
+ * the file. A reused file keeps the "Generated on" time it was rendered with, which the job
+ * reports as {@code generatedAt}. Only the newest file per user is kept.
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private final AccountReportService reportService;
+    private final ReportJobRepository jobRepository;
+    private final Path cacheDir;
+    private final Duration jobTtl;
+    private final ThreadPoolExecutor executor;
+
+    public ReportJobService(AccountReportService reportService,
+                            ReportJobRepository jobRepository,
+                            @Value("${app.report.jobs.cache-dir:${java.io.tmpdir}/account-reports}") Path cacheDir,
+                            @Value("${app.report.jobs.workers:0}") int workers,
+                            @Value("${app.report.jobs.queue-capacity:32}") int queueCapacity,
+                            @Value("${app.report.jobs.job-ttl:PT1H}") Duration jobTtl) throws IOException {
+        this.reportService = reportService;
+        this.jobRepository = jobRepository;
+        this.cacheDir = Files.createDirectories(cacheDir);
+        this.jobTtl = jobTtl;
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "report-worker-" + sequence.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public ReportJobResponse submit(Long userId) {
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), userId, userId, ReportJob.Status.QUEUED,
+                null, null, LocalDateTime.now(), null, null);
+        try {
+            jobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            // The user already has a job in flight; if it finished meanwhile, try again
+            return jobRepository.findByActiveUserId(userId)
+                    .map(ReportJobService::toResponse)
+                    .orElseGet(() -> submit(userId));
+        }
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobRepository.deleteById(job.getId());
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Report queue is full, try again shortly");
+        }
+        return toResponse(job);
+    }
+
+    public ReportJobResponse status(Long userId, String jobId) {
+        return toResponse(find(userId, jobId));
+    }
+
+    /**
+     * The rendered PDF of a finished job.
+     */
+    public Path reportFile(Long userId, String jobId) {
+        ReportJob job = find(userId, jobId);
+        if (job.getStatus() != ReportJob.Status.DONE) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Report " + jobId + " is " + job.getStatus());
+        }
+        Path file = Path.of(job.getFile());
+        if (!Files.exists(file)) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Report " + jobId + " was replaced by a newer one, submit again");
+        }
+        return file;
+    }
+
+    /**
+     * Forgets finished jobs after {@code job-ttl}, and fails jobs still unfinished that long after
+     * submission, as their instance must have stopped. Files stay until replaced by a newer report
+     * for the same user.
+     */
+    @Scheduled(fixedDelayString = "${app.report.jobs.cleanup-interval-ms:300000}")
+    public void forgetExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(jobTtl);
+        jobRepository.deleteCompletedBefore(cutoff);
+        int abandoned = jobRepository.failSubmittedBefore(cutoff, now, ReportJob.Status.FAILED);
+        if (abandoned > 0) {
+            log.warn("Failed {} report jobs left unfinished for over {}", abandoned, jobTtl);
+        }
+    }
+
+    private void run(ReportJob job) {
+        try {
+            job.setStatus(ReportJob.Status.RUNNING);
+            jobRepository.save(job);
+            String fingerprint = reportService.fingerprint(job.getUserId());
+            Path file = cacheDir.resolve(job.getUserId() + "-" + fingerprint + ".pdf");
+            if (!Files.exists(file)) {
+                Path partial = Files.createTempFile(cacheDir, job.getUserId() + "-", ".part");
+                try (OutputStream out = Files.newOutputStream(partial)) {
+                    reportService.writeComprehensiveReport(job.getUserId(), out);
+                }
+                Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                deleteOlderReports(job.getUserId(), file);
+            }
+            job.setFile(file.toString());
+            job.setGeneratedAt(generatedAt(file));
+            job.setStatus(ReportJob.Status.DONE);
+        } catch (Exception e) {
+            log.warn("Report job {} for user {} failed", job.getId(), job.getUserId(), e);
+            String error = e.getMessage();
+            job.setError(error != null && error.length() > ReportJob.MAX_ERROR_LENGTH
+                    ? error.substring(0, ReportJob.MAX_ERROR_LENGTH)
+                    : error);
+            job.setStatus(ReportJob.Status.FAILED);
+        } finally {
+            job.setCompletedAt(LocalDateTime.now());
+            job.setActiveUserId(null);
+            jobRepository.save(job);
+        }
+    }
+
+    /**
+     * When {@code file} was rendered, i.e. the "Generated on" time printed in it.
+     */
+    public static LocalDateTime generatedAt(Path file) throws IOException {
+        return LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault())
+                .truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private void deleteOlderReports(Long userId, Path keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, userId + "-*.pdf")) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // Someone else's job id is reported as missing rather than forbidden
+    private ReportJob find(Long userId, String jobId) {
+        return jobRepository.findById(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report job not found: " + jobId));
+    }
+
+    private static ReportJobResponse toResponse(ReportJob job) {
+        return new ReportJobResponse(job.getId(), job.getStatus().name(), job.getSubmittedAt(),
+                job.getGeneratedAt(), job.getCompletedAt(), job.getError());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,165 @@
+package com.account_service;
+
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
+import com.account_service.model.Account;
+import com.account_service.repository.AccountBalanceShardRepository;
+import com.account_service.repository.AccountRepository;
+import com.account_service.service.AccountBalanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AccountBalanceConcurrencyTest {
+
+    private static final int OPS_PER_ACCOUNT = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AccountBalanceService balanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceShardRepository shardRepository;
+
+    @Test
+    void concurrentCreditsAndDebits_shouldNotLoseUpdates() throws Exception {
+        Account credited = newAccount("0.00");
+        Account drained = newAccount("500.00");
+        Account mixed = newAccount("1000.00");
+
+        AtomicInteger rejectedDebits = new AtomicInteger();
+        List<Runnable> ops = new ArrayList<>();
+        for (int i = 0; i < OPS_PER_ACCOUNT; i++) {
+            ops.add(() -> balanceService.credit(credited.getId(), new BigDecimal("1.00")));
+            ops.add(() -> {
+                try {
+                    balanceService.debit(drained.getId(), new BigDecimal("1.00"));
+                } catch (ResponseStatusException e) {
+                    rejectedDebits.incrementAndGet();
+                }
+            });
+            boolean credit = i % 2 == 0;
+            ops.add(() -> {
+                if (credit) {
+                    balanceService.credit(mixed.getId(), new BigDecimal("0.25"));
+                } else {
+                    balanceService.debit(mixed.getId(), new BigDecimal("0.25"));
+                }
+            });
+        }
+
+        runConcurrently(ops);
+
+        assertThat(balanceOf(credited)).isEqualByComparingTo("1000.00");
+        // Exactly the funded half goes through and the balance never dips below zero
+        assertThat(balanceOf(drained)).isEqualByComparingTo("0.00");
+        assertThat(rejectedDebits.get()).isEqualTo(OPS_PER_ACCOUNT - 500);
+        assertThat(balanceOf(mixed)).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void shardedAccount_shouldKeepExactTotal_acrossShardCreditsSweepsAndConsolidation() throws Exception {
+        Account hot = newAccount("0.00");
+        balanceService.setShardCount(hot.getId(), 8);
+
+        AtomicInteger rejectedDebits = new AtomicInteger();
+        List<Runnable> ops = new ArrayList<>();
+        for (int i = 0; i < OPS_PER_ACCOUNT; i++) {
+            ops.add(() -> balanceService.credit(hot.getId(), new BigDecimal("2.00")));
+            if (i % 4 == 0) {
+                // The account row itself stays empty, so every debit has to sweep the shards
+                ops.add(() -> {
+                    try {
+                        balanceService.debit(hot.getId(), new BigDecimal("1.00"));
+                    } catch (ResponseStatusException e) {
+                        rejectedDebits.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        runConcurrently(ops);
+
+        BigDecimal expected = new BigDecimal("2000.00")
+                .subtract(BigDecimal.valueOf(OPS_PER_ACCOUNT / 4 - rejectedDebits.get()));
+        assertThat(balanceService.balanceOf(hot.getId())).isEqualByComparingTo(expected);
+
+        balanceService.setShardCount(hot.getId(), 2);
+        balanceService.consolidate();
+
+        assertThat(shardRepository.findByAccountId(hot.getId()))
+                .hasSize(2)
+                .allSatisfy(shard -> assertThat(shard.getBalance()).isEqualByComparingTo("0.00"));
+        assertThat(balanceOf(hot)).isEqualByComparingTo(expected);
+        assertThat(balanceService.balanceOf(hot.getId())).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void debit_shouldRejectInactiveAccount_andLeaveBalanceUntouched() {
+        Account closed = newAccount("100.00");
+        closed.setStatus(AccountStatus.CLOSED);
+        accountRepository.save(closed);
+
+        assertThatThrownBy(() -> balanceService.debit(closed.getId(), new BigDecimal("10.00")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(409));
+        assertThat(balanceOf(closed)).isEqualByComparingTo("100.00");
+    }
+
+    private void runConcurrently(List<Runnable> ops) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>(ops.size());
+            for (Runnable op : ops) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    op.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Account newAccount(String balance) {
+        return accountRepository.save(Account.builder()
+                .userId(1L)
+                .accountNumber("AC" + UUID.randomUUID().toString().replace("-", "").substring(0, 16))
+                .accountType(AccountType.SAVING)
+                .balance(new BigDecimal(balance))
+                .interestRate(0.0)
+                .status(AccountStatus.ACTIVE)
+                .opendAt(LocalDateTime.now())
+                .build());
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
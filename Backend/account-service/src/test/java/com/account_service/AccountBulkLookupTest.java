@@ -0,0 +1,138 @@
+package com.account_service;
+
+import com.account_service.controller.AccountController;
+import com.account_service.dto.AccountSummaryDto;
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
+import com.account_service.model.Account;
+import com.account_service.repository.AccountRepository;
+import com.account_service.request.AccountBulkRequest;
+import com.account_service.service.AccountBalanceService;
+import com.account_service.service.AccountBulkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A chunk size of 2 makes every lookup below span several IN queries
+@SpringBootTest(properties = {"app.accounts.bulk.chunk-size=2", "app.accounts.bulk.max-ids=10"})
+class AccountBulkLookupTest {
+
+    @Autowired
+    private AccountBulkService bulkService;
+
+    @Autowired
+    private AccountBalanceService balanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountController accountController;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getAccounts_shouldReturnFoundAccountsInRequestOrder_withShardedBalances() {
+        Account first = newAccount(7L, "10.00", AccountStatus.ACTIVE);
+        Account second = newAccount(7L, "20.00", AccountStatus.DORMANT);
+        Account third = newAccount(7L, "30.00", AccountStatus.ACTIVE);
+        balanceService.setShardCount(third.getId(), 2);
+        balanceService.credit(third.getId(), new BigDecimal("5.00"));
+        authenticateAs(7L);
+
+        List<AccountSummaryDto> result = bulkService.getAccounts(new AccountBulkRequest(
+                Arrays.asList(third.getId(), -1L, first.getId(), third.getId(), second.getId()), null));
+
+        assertThat(result).extracting(AccountSummaryDto::id)
+                .containsExactly(third.getId(), first.getId(), second.getId());
+        assertThat(result.get(0).balance()).isEqualByComparingTo("35.00");
+        assertThat(result.get(0).currency()).isEqualTo("ETB");
+        assertThat(result.get(2).status()).isEqualTo("DORMANT");
+    }
+
+    @Test
+    void getAccounts_shouldOnlyFillRequestedFields_andHideOtherUsersBalances() {
+        Account mine = newAccount(7L, "10.00", AccountStatus.ACTIVE);
+        Account theirs = newAccount(8L, "20.00", AccountStatus.ACTIVE);
+        authenticateAs(7L);
+
+        List<AccountSummaryDto> statuses = bulkService.getAccounts(
+                new AccountBulkRequest(List.of(mine.getId(), theirs.getId()), Set.of("status")));
+        assertThat(statuses).containsExactly(
+                new AccountSummaryDto(mine.getId(), "ACTIVE", null, null),
+                new AccountSummaryDto(theirs.getId(), "ACTIVE", null, null));
+
+        List<AccountSummaryDto> balances = bulkService.getAccounts(
+                new AccountBulkRequest(List.of(mine.getId(), theirs.getId()), Set.of("balance")));
+        assertThat(balances.get(0).balance()).isEqualByComparingTo("10.00");
+        assertThat(balances.get(1).balance()).isNull();
+
+        authenticateAs(9L, "ROLE_ADMIN");
+        assertThat(bulkService.getAccounts(new AccountBulkRequest(List.of(theirs.getId()), Set.of("balance")))
+                .get(0).balance()).isEqualByComparingTo("20.00");
+
+        authenticateAs(0L, "ROLE_SERVICE");
+        assertThat(bulkService.getAccounts(new AccountBulkRequest(List.of(theirs.getId()), Set.of("balance")))
+                .get(0).balance()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void bulkEndpoint_shouldOnlyAcceptServiceAndAdminCallers() {
+        Account account = newAccount(7L, "10.00", AccountStatus.ACTIVE);
+        AccountBulkRequest request = new AccountBulkRequest(List.of(account.getId()), null);
+
+        authenticateAs(7L, "ROLE_USER");
+        assertThatThrownBy(() -> accountController.getAccounts(request)).isInstanceOf(AccessDeniedException.class);
+
+        authenticateAs(0L, "ROLE_SERVICE");
+        assertThat(accountController.getAccounts(request)).extracting(AccountSummaryDto::id)
+                .containsExactly(account.getId());
+    }
+
+    @Test
+    void getAccounts_shouldRejectTooManyIdsAndUnknownFields() {
+        authenticateAs(7L);
+
+        assertThatThrownBy(() -> bulkService.getAccounts(new AccountBulkRequest(
+                List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L), null)))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> bulkService.getAccounts(new AccountBulkRequest(List.of(1L), Set.of("userId"))))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private void authenticateAs(Long userId, String... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userId, null, AuthorityUtils.createAuthorityList(authorities)));
+    }
+
+    private Account newAccount(Long userId, String balance, AccountStatus status) {
+        return accountRepository.save(Account.builder()
+                .userId(userId)
+                .accountNumber("AC" + UUID.randomUUID().toString().replace("-", "").substring(0, 16))
+                .accountType(AccountType.SAVING)
+                .balance(new BigDecimal(balance))
+                .interestRate(0.0)
+                .status(status)
+                .opendAt(LocalDateTime.now())
+                .build());
+    }
+}
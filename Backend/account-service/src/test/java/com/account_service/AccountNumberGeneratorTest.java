@@ -0,0 +1,85 @@
+package com.account_service;
+
+import com.account_service.repository.AccountNumberSequenceRepository;
+import com.account_service.service.LeasedBlockAccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AccountNumberGeneratorTest {
+
+    private static final int BLOCK_SIZE = 100;
+
+    @Autowired
+    private AccountNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void next_shouldNeverRepeat_acrossThreadsAndInstances() throws Exception {
+        // Two generators sharing the sequence row stand in for two service instances
+        List<LeasedBlockAccountNumberGenerator> instances = List.of(
+                new LeasedBlockAccountNumberGenerator(sequenceRepository, transactionManager, BLOCK_SIZE, 1),
+                new LeasedBlockAccountNumberGenerator(sequenceRepository, transactionManager, BLOCK_SIZE, 1));
+        long before = nextValue();
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                LeasedBlockAccountNumberGenerator generator = instances.get(t % 2);
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        String number = generator.next();
+                        assertThat(numbers.add(number)).as("duplicate %s", number).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(numbers).hasSize(16_000)
+                .allSatisfy(number -> assertThat(LeasedBlockAccountNumberGenerator.isValid(number)).isTrue());
+        // One database round trip per block of numbers, plus at most one partly used block per instance
+        long leases = (nextValue() - before) / BLOCK_SIZE;
+        assertThat(leases).isBetween(160L, 162L);
+    }
+
+    @Test
+    void isValid_shouldRejectTyposAndTheOldFormat() {
+        String number = new LeasedBlockAccountNumberGenerator(sequenceRepository, transactionManager, 10, 1).next();
+        assertThat(number).matches("AC\\d{17}");
+        assertThat(LeasedBlockAccountNumberGenerator.isValid(number)).isTrue();
+
+        for (int i = 2; i < number.length(); i++) {
+            char[] typo = number.toCharArray();
+            typo[i] = typo[i] == '9' ? '0' : (char) (typo[i] + 1);
+            assertThat(LeasedBlockAccountNumberGenerator.isValid(new String(typo))).as("typo at %d", i).isFalse();
+        }
+        // Random numbers from before the generator are one digit shorter
+        assertThat(LeasedBlockAccountNumberGenerator.isValid("AC1234567890121234")).isFalse();
+    }
+
+    private long nextValue() {
+        return sequenceRepository.findById("account_number").map(s -> s.getNextValue()).orElse(1L);
+    }
+}
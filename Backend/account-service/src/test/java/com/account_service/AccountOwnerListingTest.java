@@ -0,0 +1,123 @@
+package com.account_service;
+
+import com.account_service.client.UserServiceClient;
+import com.account_service.dto.AccountWithOwnerDto;
+import com.account_service.dto.UserSummaryDto;
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
+import com.account_service.model.Account;
+import com.account_service.model.AccountBalanceShard;
+import com.account_service.repository.AccountBalanceShardRepository;
+import com.account_service.repository.AccountRepository;
+import com.account_service.request.UserBatchRequest;
+import com.account_service.service.AccountServiceImplmentation;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class AccountOwnerListingTest {
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    private AccountServiceImplmentation accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceShardRepository shardRepository;
+
+    @Test
+    void listAccountsWithOwners_shouldFetchAllOwnersOfAPageInOneCall() {
+        Account first = newAccount(101L);
+        Account second = newAccount(102L);
+        Account third = newAccount(101L);
+        when(userServiceClient.getUsers(any())).thenReturn(List.of(
+                new UserSummaryDto(101L, "Abebe", "Kebede", "abebe@bank.test"),
+                new UserSummaryDto(102L, "Sara", null, "sara@bank.test")));
+
+        Map<Long, AccountWithOwnerDto> listed = listAll();
+
+        ArgumentCaptor<UserBatchRequest> request = ArgumentCaptor.forClass(UserBatchRequest.class);
+        verify(userServiceClient, times(1)).getUsers(request.capture());
+        assertThat(request.getValue().getIds()).doesNotHaveDuplicates().contains(101L, 102L);
+        assertThat(listed.get(first.getId()).ownerName()).isEqualTo("Abebe Kebede");
+        assertThat(listed.get(third.getId()).ownerEmail()).isEqualTo("abebe@bank.test");
+        assertThat(listed.get(second.getId()).ownerName()).isEqualTo("Sara");
+    }
+
+    @Test
+    void listAccountsWithOwners_shouldStillListAccounts_whenUserServiceFails() {
+        Account account = newAccount(103L);
+        when(userServiceClient.getUsers(any())).thenThrow(new FeignException.ServiceUnavailable("down",
+                Request.create(Request.HttpMethod.POST, "/api/users/_batch", Map.of(), null, StandardCharsets.UTF_8, null),
+                null, Map.of()));
+
+        AccountWithOwnerDto listed = listAll().get(account.getId());
+
+        assertThat(listed.userId()).isEqualTo(103L);
+        assertThat(listed.ownerName()).isNull();
+    }
+
+    @Test
+    void listAccountsWithOwners_shouldIncludeBalanceShards() {
+        Account account = newAccount(104L);
+        shardRepository.save(AccountBalanceShard.builder()
+                .accountId(account.getId()).shardNo(0).balance(new BigDecimal("2.50")).build());
+        when(userServiceClient.getUsers(any())).thenReturn(List.of());
+
+        assertThat(listAll().get(account.getId()).balance()).isEqualByComparingTo("12.50");
+    }
+
+    @Test
+    void listAccountsWithOwners_shouldRejectOversizedPages() {
+        assertThatThrownBy(() -> accountService.listAccountsWithOwners(0, 501))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    // Other tests share the database, so page through everything and index by account id
+    private Map<Long, AccountWithOwnerDto> listAll() {
+        Map<Long, AccountWithOwnerDto> listed = new HashMap<>();
+        List<AccountWithOwnerDto> page = accountService.listAccountsWithOwners(0, 500);
+        for (int n = 1; !page.isEmpty(); n++) {
+            page.forEach(account -> listed.put(account.id(), account));
+            page = accountService.listAccountsWithOwners(n, 500);
+        }
+        return listed;
+    }
+
+    private Account newAccount(Long userId) {
+        return accountRepository.save(Account.builder()
+                .userId(userId)
+                .accountNumber("AC" + UUID.randomUUID().toString().replace("-", "").substring(0, 16))
+                .accountType(AccountType.SAVING)
+                .balance(new BigDecimal("10.00"))
+                .interestRate(0.0)
+                .status(AccountStatus.ACTIVE)
+                .opendAt(LocalDateTime.now())
+                .build());
+    }
+}
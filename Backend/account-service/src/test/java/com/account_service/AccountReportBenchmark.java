@@ -0,0 +1,117 @@
+package com.account_service;
+
+import com.account_service.service.AccountReportService;
+import com.lowagie.text.pdf.PdfReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time and allocation for the streamed PDF report at several account counts, against the
+ * configured database. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=AccountReportBenchmark -Dbench.report-accounts=10,10000,100000
+ * </pre>
+ *
+ * Each size gets its own user, seeded once. The report is written to a counting sink, so the
+ * numbers are the service's own cost and not that of buffering the output.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.report-accounts", matches = "[\\d,]+")
+class AccountReportBenchmark {
+
+    private static final long USER_ID_BASE = 9_000_000L;
+
+    @Autowired
+    private AccountReportService reportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportCostByAccountCount() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (String size : System.getProperty("bench.report-accounts").split(",")) {
+            int accounts = Integer.parseInt(size);
+            long userId = USER_ID_BASE + accounts;
+            seed(userId, accounts);
+
+            // One small run to check the output is a readable PDF, then warm-up, then the timed run
+            ByteArrayOutputStream sample = new ByteArrayOutputStream();
+            reportService.writeComprehensiveReport(USER_ID_BASE + 10, sample);
+            assertThat(pageCount(sample.toByteArray())).isGreaterThanOrEqualTo(1);
+            reportService.writeComprehensiveReport(userId, OutputStream.nullOutputStream());
+
+            CountingOutputStream out = new CountingOutputStream();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            reportService.writeComprehensiveReport(userId, out);
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            System.out.printf("[bench] accounts=%7d: %8.1f ms, %7.1f KB pdf, %8.1f MB allocated (%.1f KB/account)%n",
+                    accounts, elapsed / 1_000_000.0, out.count / 1024.0,
+                    allocated / (1024.0 * 1024), allocated / 1024.0 / accounts);
+        }
+    }
+
+    private void seed(long userId, int accounts) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts WHERE user_id = ?", Integer.class, userId);
+        if (existing != null && existing == accounts) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM accounts WHERE user_id = ?", userId);
+        Timestamp openedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 0; i < accounts; i++) {
+            batch.add(new Object[]{userId, String.format("RB%08d%08d", userId % 100_000_000, i), "SAVING",
+                    BigDecimal.valueOf(i % 100_000, 2), 3.5, "ACTIVE", openedAt});
+            if (batch.size() == 1000 || i == accounts - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO accounts (user_id, account_number, account_type, balance, "
+                        + "interest_rate, status, opend_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static int pageCount(byte[] pdf) {
+        try {
+            PdfReader reader = new PdfReader(pdf);
+            int pages = reader.getNumberOfPages();
+            reader.close();
+            return pages;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
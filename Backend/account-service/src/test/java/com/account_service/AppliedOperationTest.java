@@ -0,0 +1,138 @@
+package com.account_service;
+
+import com.account_service.controller.AccountController;
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
+import com.account_service.model.Account;
+import com.account_service.repository.AccountRepository;
+import com.account_service.repository.AppliedOperationRepository;
+import com.account_service.service.AccountBalanceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AppliedOperationTest {
+
+    @Autowired
+    private AccountBalanceService balanceService;
+
+    @Autowired
+    private AccountController accountController;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AppliedOperationRepository operationRepository;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedOperationKey_shouldApplyTheChangeOnce_andKeepTheDescription() {
+        Account account = newAccount("100.00");
+        String debitKey = "op-" + UUID.randomUUID();
+        String creditKey = "op-" + UUID.randomUUID();
+
+        for (int i = 0; i < 3; i++) {
+            balanceService.debit(account.getId(), new BigDecimal("30.00"), debitKey, "Transfer to 7");
+            balanceService.credit(account.getId(), new BigDecimal("5.00"), creditKey, "Deposit");
+        }
+
+        assertThat(balanceOf(account)).isEqualByComparingTo("75.00");
+        assertThat(operationRepository.findByOperationKey(debitKey).orElseThrow().getDescription())
+                .isEqualTo("Transfer to 7");
+    }
+
+    @Test
+    void shardedCredit_shouldAlsoBeAppliedOncePerKey() {
+        Account hot = newAccount("0.00");
+        balanceService.setShardCount(hot.getId(), 4);
+        String key = "op-" + UUID.randomUUID();
+
+        balanceService.credit(hot.getId(), new BigDecimal("2.00"), key, null);
+        balanceService.credit(hot.getId(), new BigDecimal("2.00"), key, null);
+
+        assertThat(balanceService.balanceOf(hot.getId())).isEqualByComparingTo("2.00");
+    }
+
+    @Test
+    void rejectedDebit_shouldNotRecordItsKey_soARetryCanStillApply() {
+        Account account = newAccount("10.00");
+        String key = "op-" + UUID.randomUUID();
+
+        assertThatThrownBy(() -> balanceService.debit(account.getId(), new BigDecimal("20.00"), key, null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(operationRepository.findByOperationKey(key)).isEmpty();
+
+        balanceService.credit(account.getId(), new BigDecimal("10.00"));
+        balanceService.debit(account.getId(), new BigDecimal("20.00"), key, null);
+        assertThat(balanceOf(account)).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void operationKey_reusedForADifferentChange_shouldBeRejected() {
+        Account account = newAccount("100.00");
+        String key = "op-" + UUID.randomUUID();
+        balanceService.debit(account.getId(), new BigDecimal("10.00"), key, null);
+
+        assertThatThrownBy(() -> balanceService.debit(account.getId(), new BigDecimal("11.00"), key, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(409));
+        assertThatThrownBy(() -> balanceService.credit(account.getId(), new BigDecimal("10.00"), key, null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(balanceOf(account)).isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    void debitAndCreditEndpoints_shouldOnlyAcceptServiceCallers() {
+        Account account = newAccount("100.00");
+
+        authenticateAs("ROLE_USER,ROLE_ADMIN");
+        assertThatThrownBy(() -> accountController.debit(account.getId(), new BigDecimal("1.00"), null, null))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> accountController.credit(account.getId(), new BigDecimal("1.00"), null, null))
+                .isInstanceOf(AccessDeniedException.class);
+
+        authenticateAs("ROLE_SERVICE");
+        accountController.debit(account.getId(), new BigDecimal("1.00"), null, null);
+        assertThat(balanceOf(account)).isEqualByComparingTo("99.00");
+    }
+
+    private static void authenticateAs(String authorities) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                0L, null, AuthorityUtils.commaSeparatedStringToAuthorityList(authorities)));
+    }
+
+    private Account newAccount(String balance) {
+        return accountRepository.save(Account.builder()
+                .userId(1L)
+                .accountNumber("AC" + UUID.randomUUID().toString().replace("-", "").substring(0, 16))
+                .accountType(AccountType.SAVING)
+                .balance(new BigDecimal(balance))
+                .interestRate(0.0)
+                .status(AccountStatus.ACTIVE)
+                .opendAt(LocalDateTime.now())
+                .build());
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
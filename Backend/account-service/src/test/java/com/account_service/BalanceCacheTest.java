@@ -0,0 +1,65 @@
+package com.account_service;
+
+import com.account_service.service.BalanceCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BalanceCache cache = new BalanceCache(100, 64, Duration.ofSeconds(30), registry);
+
+    @Test
+    void get_shouldServeRepeatedReadsFromCache_untilBalanceChanges() {
+        AtomicReference<BigDecimal> balance = new AtomicReference<>(new BigDecimal("10.00"));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get(1L, id -> {
+                loads.incrementAndGet();
+                return BalanceCache.Entry.of(7L, balance.get());
+            }).balance()).isEqualByComparingTo("10.00");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+
+        balance.set(new BigDecimal("4.00"));
+        cache.onBalanceChanged(1L);
+
+        assertThat(cache.get(1L, id -> BalanceCache.Entry.of(7L, balance.get())).balance())
+                .isEqualByComparingTo("4.00");
+        assertThat(registry.counter("account.balance.cache.requests", "result", "hit").count()).isEqualTo(2);
+        assertThat(registry.counter("account.balance.cache.requests", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldReloadOnceTheEntryExpires_soOtherInstancesWritesShowUp() throws InterruptedException {
+        BalanceCache shortLived = new BalanceCache(100, 64, Duration.ofMillis(20), new SimpleMeterRegistry());
+        shortLived.get(1L, id -> BalanceCache.Entry.of(7L, new BigDecimal("10.00")));
+
+        // Written elsewhere, so this instance never hears about it
+        Thread.sleep(100);
+
+        assertThat(shortLived.get(1L, id -> BalanceCache.Entry.of(7L, new BigDecimal("4.00"))).balance())
+                .isEqualByComparingTo("4.00");
+    }
+
+    @Test
+    void get_shouldNotKeepALoadThatOverlappedAWrite() {
+        // The write commits after the loader has read the old balance
+        cache.get(1L, id -> {
+            BalanceCache.Entry stale = BalanceCache.Entry.of(7L, new BigDecimal("10.00"));
+            cache.onBalanceChanged(1L);
+            return stale;
+        });
+
+        assertThat(cache.get(1L, id -> BalanceCache.Entry.of(7L, new BigDecimal("4.00"))).balance())
+                .isEqualByComparingTo("4.00");
+    }
+}
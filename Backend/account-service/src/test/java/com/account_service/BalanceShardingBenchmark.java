@@ -0,0 +1,97 @@
+package com.account_service;
+
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
+import com.account_service.model.Account;
+import com.account_service.repository.AccountRepository;
+import com.account_service.service.AccountBalanceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Credit throughput on a single hot account as the number of balance shards grows, against the
+ * configured database. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=BalanceShardingBenchmark -Dbench.seconds=10 -Dbench.threads=64
+ * </pre>
+ *
+ * Shard count 0 is the unsharded path (lock stripe plus one row); each run also checks that the
+ * account's total matches the number of credits that went through.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.seconds", matches = "\\d+")
+class BalanceShardingBenchmark {
+
+    private static final int[] SHARDS = {0, 1, 4, 16, 64};
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Autowired
+    private AccountBalanceService balanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void creditThroughputByShardCount() throws Exception {
+        int seconds = Integer.parseInt(System.getProperty("bench.seconds"));
+        int threads = Integer.parseInt(System.getProperty("bench.threads", "64"));
+
+        run(newAccount(), 4, threads, 2);     // JIT, connection pool
+        for (int shards : SHARDS) {
+            Account account = newAccount();
+            balanceService.setShardCount(account.getId(), shards);
+
+            long credits = run(account, shards, threads, seconds);
+
+            assertThat(balanceService.balanceOf(account.getId()))
+                    .isEqualByComparingTo(AMOUNT.multiply(BigDecimal.valueOf(credits)));
+            System.out.printf("[bench] shards=%2d threads=%d: %8.0f credits/s%n",
+                    shards, threads, credits / (double) seconds);
+        }
+    }
+
+    private long run(Account account, int shards, int threads, int seconds) throws InterruptedException {
+        balanceService.setShardCount(account.getId(), shards);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong credits = new AtomicLong();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    balanceService.credit(account.getId(), AMOUNT);
+                    credits.incrementAndGet();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return credits.get();
+    }
+
+    private Account newAccount() {
+        return accountRepository.save(Account.builder()
+                .userId(1L)
+                .accountNumber("AC" + UUID.randomUUID().toString().replace("-", "").substring(0, 16))
+                .accountType(AccountType.BUSINESS)
+                .balance(BigDecimal.ZERO)
+                .interestRate(0.0)
+                .status(AccountStatus.ACTIVE)
+                .opendAt(LocalDateTime.now())
+                .build());
+    }
+}
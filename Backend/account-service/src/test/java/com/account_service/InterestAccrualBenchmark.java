@@ -0,0 +1,69 @@
+package com.account_service;
+
+import com.account_service.model.InterestAccrualRun;
+import com.account_service.service.InterestAccrualService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interest accrual throughput against the configured database, with the projected time for
+ * 10M accounts. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=InterestAccrualBenchmark -Dbench.interest-accounts=1000000 -Dapp.interest.parallelism=8
+ * </pre>
+ *
+ * Each run seeds accounts up to the requested count and accrues a date no other run has used.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.interest-accounts", matches = "\\d+")
+class InterestAccrualBenchmark {
+
+    private static final long TARGET_ACCOUNTS = 10_000_000L;
+
+    @Autowired
+    private InterestAccrualService accrualService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void accrualThroughput() {
+        int accounts = Integer.parseInt(System.getProperty("bench.interest-accounts"));
+        seed(accounts);
+
+        LocalDate date = LocalDate.of(2000, 1, 1).plusDays(System.currentTimeMillis() / 1000 % 100_000);
+        long start = System.nanoTime();
+        InterestAccrualRun run = accrualService.accrue(date);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double perSecond = run.getAccounts() / seconds;
+        System.out.printf("[bench] accrued %d accounts in %.1f s: %.0f accounts/s, 10M accounts in about %.1f min%n",
+                run.getAccounts(), seconds, perSecond, TARGET_ACCOUNTS / perSecond / 60);
+    }
+
+    private void seed(int accounts) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM accounts WHERE status = 'ACTIVE' AND interest_rate > 0", Integer.class);
+        Timestamp openedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = existing == null ? 0 : existing; i < accounts; i++) {
+            batch.add(new Object[]{1L, String.format("IB%016d", i), "SAVING", BigDecimal.valueOf(1_000_000 + i, 2), 3.5, "ACTIVE", openedAt});
+            if (batch.size() == 1000 || i == accounts - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO accounts (user_id, account_number, account_type, balance, "
+                        + "interest_rate, status, opend_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
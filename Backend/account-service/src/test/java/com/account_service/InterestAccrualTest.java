@@ -0,0 +1,86 @@
+package com.account_service;
+
+import com.account_service.entity.AccountStatus;
+import com.account_service.entity.AccountType;
+import com.account_service.model.Account;
+import com.account_service.model.InterestAccrualRun;
+import com.account_service.repository.AccountRepository;
+import com.account_service.service.InterestAccrualService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.interest.partition-size=1")
+class InterestAccrualTest {
+
+    @Autowired
+    private InterestAccrualService accrualService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void accrue_shouldCarryFractionsOfACent_andPostWholeCentsAtMonthEnd() {
+        LocalDate day = LocalDate.of(2025, 3, 30);          // 365-day year
+        LocalDate monthEnd = LocalDate.of(2025, 3, 31);
+        Account saving = newAccount("36500.00", 3.5, AccountStatus.ACTIVE);
+        Account small = newAccount("50.00", 3.65, AccountStatus.ACTIVE);     // half a cent a day
+        Account resumed = newAccount("36500.00", 7.5, AccountStatus.ACTIVE);
+        Account closed = newAccount("36500.00", 3.5, AccountStatus.CLOSED);
+
+        accrualService.accrue(day);
+        assertThat(balanceOf(saving)).isEqualByComparingTo("36500.00");
+        assertThat(accruedOf(saving)).isEqualByComparingTo("3.50");
+        assertThat(accruedOf(small)).isEqualByComparingTo("0.005");
+
+        // A previous attempt got as far as applying the partition holding `resumed`
+        jdbcTemplate.update("INSERT INTO interest_accrual_checkpoints (accrual_date, partition_no, accounts, interest, completed_at) "
+                + "VALUES (?, ?, 1, 0, CURRENT_TIMESTAMP)", Date.valueOf(monthEnd), resumed.getId() - 1);
+
+        InterestAccrualRun run = accrualService.accrue(monthEnd);
+        accrualService.accrue(monthEnd);
+
+        assertThat(balanceOf(saving)).isEqualByComparingTo("36507.00");
+        assertThat(accruedOf(saving)).isZero();
+        assertThat(balanceOf(small)).isEqualByComparingTo("50.01");
+        assertThat(balanceOf(resumed)).isEqualByComparingTo("36500.00");
+        assertThat(accruedOf(resumed)).isEqualByComparingTo("7.50");
+        assertThat(balanceOf(closed)).isEqualByComparingTo("36500.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT amount FROM applied_operations WHERE operation_key = ? AND type = 'CREDIT'",
+                BigDecimal.class, "interest-" + saving.getId() + "-2025-03")).isEqualByComparingTo("7.00");
+        assertThat(run.getCompletedAt()).isNotNull();
+        assertThat(run.getInterest()).isGreaterThanOrEqualTo(new BigDecimal("7.01"));
+    }
+
+    private Account newAccount(String balance, double rate, AccountStatus status) {
+        return accountRepository.save(Account.builder()
+                .userId(1L)
+                .accountNumber("IA" + UUID.randomUUID().toString().replace("-", "").substring(0, 16))
+                .accountType(AccountType.SAVING)
+                .balance(new BigDecimal(balance))
+                .interestRate(rate)
+                .status(status)
+                .opendAt(LocalDateTime.now())
+                .build());
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private BigDecimal accruedOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getAccruedInterest();
+    }
+}
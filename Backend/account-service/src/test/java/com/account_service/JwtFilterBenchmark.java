@@ -0,0 +1,77 @@
+package com.account_service;
+
+import com.account_service.security.JwtAuthenticationFilter;
+import com.account_service.security.JwtVerifier;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter}. "cold" sends a different token every
+ * time, so each request pays for signature verification with the shared parser; "warm" repeats
+ * one token, as a logged-in dashboard does. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=JwtFilterBenchmark -Dbench.iterations=200000
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "bench.iterations", matches = "\\d+")
+class JwtFilterBenchmark {
+
+    private static final String SECRET = "my_super_secure_secret_key_for_jwt_2026_project_secure";
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    @Test
+    void filterCostColdAndWarm() throws Exception {
+        int iterations = Integer.parseInt(System.getProperty("bench.iterations"));
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+
+        String[] distinct = new String[iterations];
+        for (int i = 0; i < iterations; i++) {
+            distinct[i] = JwtVerifierTest.token(SECRET, (long) i, expiresAt);
+        }
+        String[] repeated = new String[iterations];
+        Arrays.fill(repeated, distinct[0]);
+
+        for (int round = 0; round < 3; round++) {     // the first round is JIT warm-up
+            double cold = nanosPerRequest(distinct);
+            double warm = nanosPerRequest(repeated);
+            if (round > 0) {
+                System.out.printf("[bench] round %d: cold %.2f us/request, warm %.2f us/request (%.1fx)%n",
+                        round, cold / 1000, warm / 1000, cold / warm);
+            }
+        }
+    }
+
+    private double nanosPerRequest(String[] tokens) throws Exception {
+        // A fresh verifier so the cold pass never sees a token cached by an earlier one
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                new JwtVerifier(SECRET, tokens.length, Duration.ofMinutes(10)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = System.nanoTime();
+        for (String token : tokens) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts");
+            request.addHeader("Authorization", "Bearer " + token);
+            filter.doFilter(request, response, NO_OP);
+            SecurityContextHolder.clearContext();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        MockHttpServletRequest check = new MockHttpServletRequest("GET", "/accounts");
+        check.addHeader("Authorization", "Bearer " + tokens[0]);
+        filter.doFilter(check, response, (request, ignored) ->
+                assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull());
+        SecurityContextHolder.clearContext();
+        return elapsed / (double) tokens.length;
+    }
+}
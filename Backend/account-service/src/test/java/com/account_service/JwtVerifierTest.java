@@ -0,0 +1,52 @@
+package com.account_service;
+
+import com.account_service.security.JwtVerifier;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "my_super_secure_secret_key_for_jwt_2026_project_secure";
+
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, 100, Duration.ofMinutes(10));
+
+    @Test
+    void verify_shouldReadUserAndRoles_andServeRepeatsFromCache() {
+        String token = token(SECRET, 42L, Instant.now().plusSeconds(60));
+
+        JwtVerifier.VerifiedToken first = verifier.verify(token);
+
+        assertThat(first.userId()).isEqualTo(42L);
+        assertThat(first.authorities()).extracting("authority").containsExactly("ROLE_ADMIN", "ROLE_USER");
+        assertThat(verifier.verify(token)).isSameAs(first);
+    }
+
+    @Test
+    void verify_shouldRejectExpiredAndForeignTokens() {
+        assertThatThrownBy(() -> verifier.verify(token(SECRET, 42L, Instant.now().minusSeconds(5))))
+                .isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> verifier.verify(
+                token("another_secret_that_is_long_enough_for_hmac_sha_256", 42L, Instant.now().plusSeconds(60))))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    static String token(String secret, Long userId, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .claim("authorities", "ROLE_ADMIN,ROLE_USER")
+                .setExpiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
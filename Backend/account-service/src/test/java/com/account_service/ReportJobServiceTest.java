@@ -0,0 +1,134 @@
+package com.account_service;
+
+import com.account_service.dto.ReportJobResponse;
+import com.account_service.repository.ReportJobRepository;
+import com.account_service.service.AccountReportService;
+import com.account_service.service.ReportJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ReportJobServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Autowired
+    private ReportJobRepository jobRepository;
+
+    private final AccountReportService reportService = mock(AccountReportService.class);
+
+    @BeforeEach
+    void clearJobs() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void submit_shouldRenderOnce_andReuseTheFileWhileAccountsAreUnchanged() throws Exception {
+        when(reportService.fingerprint(1L)).thenReturn("aaa", "aaa", "bbb");
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("%PDF".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).when(reportService).writeComprehensiveReport(anyLong(), any());
+        ReportJobService jobs = newJobs(4);
+
+        ReportJobResponse firstJob = jobs.submit(1L);
+        Path first = awaitFile(jobs, firstJob);
+        ReportJobResponse secondJob = jobs.submit(1L);
+        Path second = awaitFile(jobs, secondJob);
+        assertThat(second).isEqualTo(first);
+        // The reused file still says when it was rendered, and the job says so too
+        assertThat(jobs.status(1L, secondJob.jobId()).generatedAt())
+                .isEqualTo(jobs.status(1L, firstJob.jobId()).generatedAt())
+                .isEqualTo(ReportJobService.generatedAt(first));
+        verify(reportService, times(1)).writeComprehensiveReport(anyLong(), any());
+
+        // Accounts changed: a new file replaces the old one
+        Path third = awaitFile(jobs, jobs.submit(1L));
+        assertThat(third).isNotEqualTo(first);
+        assertThat(Files.readString(third)).isEqualTo("%PDF");
+        assertThat(first).doesNotExist();
+        verify(reportService, times(2)).writeComprehensiveReport(anyLong(), any());
+    }
+
+    @Test
+    void submit_shouldAnswer429_whenTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportService.fingerprint(anyLong())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "fp";
+        });
+        ReportJobService jobs = newJobs(1);
+        try {
+            jobs.submit(1L);                 // running
+            Thread.sleep(100);
+            jobs.submit(2L);                 // queued
+            // A second submit from a user with a job in flight gets that job back
+            assertThat(jobs.submit(2L).status()).isEqualTo("QUEUED");
+
+            assertThatThrownBy(() -> jobs.submit(3L))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode().value()).isEqualTo(429));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void jobs_shouldBeVisibleToEveryInstance_withOneActiveJobPerUserAcrossThem() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportService.fingerprint(anyLong())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "fp";
+        });
+        ReportJobService one = newJobs(4);
+        ReportJobService other = newJobs(4);
+        try {
+            ReportJobResponse job = one.submit(1L);
+
+            assertThat(other.submit(1L).jobId()).isEqualTo(job.jobId());
+            assertThat(other.status(1L, job.jobId()).jobId()).isEqualTo(job.jobId());
+            assertThatThrownBy(() -> other.status(2L, job.jobId()))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode().value()).isEqualTo(404));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private ReportJobService newJobs(int queueCapacity) throws Exception {
+        return new ReportJobService(reportService, jobRepository, cacheDir, 1, queueCapacity, Duration.ofHours(1));
+    }
+
+    private static Path awaitFile(ReportJobService jobs, ReportJobResponse job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!jobs.status(1L, job.jobId()).status().equals("DONE")) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            assertThat(jobs.status(1L, job.jobId()).status()).isNotEqualTo("FAILED");
+            Thread.sleep(10);
+        }
+        return jobs.reportFile(1L, job.jobId());
+    }
+}
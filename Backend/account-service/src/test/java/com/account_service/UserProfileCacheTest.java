@@ -0,0 +1,101 @@
+package com.account_service;
+
+import com.account_service.client.UserProfileCache;
+import com.account_service.client.UserServiceClient;
+import com.account_service.dto.UserProfileDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserProfileCacheTest {
+
+    private final UserServiceClient client = mock(UserServiceClient.class);
+
+    @Test
+    void getProfile_shouldShareOneCallBetweenConcurrentMisses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(client.getCurrentUserProfile(any())).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return profile("first@bank.et");
+        });
+        UserProfileCache cache = cache(true, Duration.ofMinutes(1));
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserProfileDto>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.getProfile(1L)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<UserProfileDto> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).email()).isEqualTo("first@bank.et");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getProfile_shouldServeStaleEntry_whileRefreshingInBackground() throws Exception {
+        CountDownLatch refreshMayFinish = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(client.getCurrentUserProfile(any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                return profile("old@bank.et");
+            }
+            refreshMayFinish.await(5, TimeUnit.SECONDS);
+            return profile("new@bank.et");
+        });
+        UserProfileCache cache = cache(true, Duration.ZERO);
+
+        assertThat(cache.getProfile(1L).email()).isEqualTo("old@bank.et");
+        // The refresh is stuck on a slow user-service; readers still get the old profile at once
+        assertThat(cache.getProfile(1L).email()).isEqualTo("old@bank.et");
+
+        refreshMayFinish.countDown();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!cache.getProfile(1L).email().equals("new@bank.et") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.getProfile(1L).email()).isEqualTo("new@bank.et");
+    }
+
+    @Test
+    void getProfile_shouldCallUserServiceEveryTime_whenDisabled() {
+        when(client.getCurrentUserProfile(any())).thenReturn(profile("a@bank.et"));
+        UserProfileCache cache = cache(false, Duration.ofMinutes(1));
+
+        cache.getProfile(1L);
+        cache.getProfile(1L);
+
+        verify(client, times(2)).getCurrentUserProfile(any());
+    }
+
+    private UserProfileCache cache(boolean enabled, Duration refreshAfter) {
+        return new UserProfileCache(client, new SimpleMeterRegistry(), enabled, 100, refreshAfter, Duration.ofMinutes(30), 1);
+    }
+
+    private static UserProfileDto profile(String email) {
+        return new UserProfileDto(1L, email, "Test User", "USER");
+    }
+}
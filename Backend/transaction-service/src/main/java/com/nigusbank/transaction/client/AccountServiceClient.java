@@ -1,23 +1,38 @@
 package com.nigusbank.transaction.client;
 
+import com.nigusbank.transaction.dto.AccountBulkRequest;
+import com.nigusbank.transaction.dto.AccountSummary;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 // Production: resolve account-service via service discovery (Eureka)
 @FeignClient(name = "account-service")
 public interface AccountServiceClient {
 
+    // account-service applies a debit or credit once per key, so a call that may have landed can be repeated
+    String OPERATION_KEY_HEADER = "Idempotency-Key";
+
     @PutMapping("/accounts/{accountId}/debit")
     void debit(@PathVariable("accountId") Long accountId,
                @RequestParam("amount") BigDecimal amount,
-               @RequestParam("description") String description);
+               @RequestParam("description") String description,
+               @RequestHeader(value = OPERATION_KEY_HEADER, required = false) String operationKey);
 
     @PutMapping("/accounts/{accountId}/credit")
     void credit(@PathVariable("accountId") Long accountId,
                 @RequestParam("amount") BigDecimal amount,
-                @RequestParam("description") String description);
+                @RequestParam("description") String description,
+                @RequestHeader(value = OPERATION_KEY_HEADER, required = false) String operationKey);
+
+    // One call and one query per chunk for many accounts; unknown ids are left out of the result
+    @PostMapping("/accounts/_bulk")
+    List<AccountSummary> getAccounts(@RequestBody AccountBulkRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.nigusbank.transaction.client;
+
+import com.nigusbank.transaction.dto.AccountSummary;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link AccountServiceClient}: every call returns at once, so
+ * independent calls (e.g. looking up both sides of a transfer) can be issued together and
+ * joined, costing one round-trip instead of one per call. Futures complete exceptionally on
+ * HTTP errors and on the per-call timeout.
+ */
+public interface AsyncAccountServiceClient {
+
+    CompletableFuture<AccountSummary> getAccount(Long accountId);
+
+    CompletableFuture<Void> debit(Long accountId, BigDecimal amount, String description, String operationKey);
+
+    CompletableFuture<Void> credit(Long accountId, BigDecimal amount, String description, String operationKey);
+}
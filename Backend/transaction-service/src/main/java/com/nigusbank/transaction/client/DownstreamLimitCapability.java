@@ -0,0 +1,31 @@
+package com.nigusbank.transaction.client;
+
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes every Feign call through {@link DownstreamLimiter}, keyed by the Feign client name.
+ * The permit covers the HTTP exchange only, not response decoding.
+ * Feign calls {@code enrich} reflectively, so this has to stay a public top-level class.
+ */
+@Component
+@RequiredArgsConstructor
+public class DownstreamLimitCapability implements Capability {
+
+    private final DownstreamLimiter limiter;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            String downstream = request.requestTemplate().feignTarget().name();
+            limiter.acquire(downstream);
+            try {
+                return client.execute(request, options);
+            } finally {
+                limiter.release(downstream);
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.nigusbank.transaction.client;
+
+import com.nigusbank.transaction.config.DownstreamLimitProperties;
+import com.nigusbank.transaction.exception.DownstreamSaturatedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One fair semaphore per downstream service. On platform threads the Tomcat pool already caps
+ * concurrency; on virtual threads nothing does, so this is what keeps a traffic spike from
+ * turning into thousands of simultaneous calls into account-service.
+ * Callers wait up to {@code app.downstream.acquire-timeout} for a permit and then fail with
+ * {@link DownstreamSaturatedException} (HTTP 503) rather than queueing indefinitely.
+ */
+@Component
+@RequiredArgsConstructor
+public class DownstreamLimiter {
+
+    private final DownstreamLimitProperties properties;
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    public void acquire(String downstream) {
+        Budget budget = budget(downstream);
+        try {
+            if (budget.permits.tryAcquire(properties.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        budget.rejected.incrementAndGet();
+        throw new DownstreamSaturatedException(downstream + " is at its limit of "
+                + budget.limit + " concurrent calls, try again later");
+    }
+
+    public void release(String downstream) {
+        budget(downstream).permits.release();
+    }
+
+    public int inFlight(String downstream) {
+        Budget budget = budget(downstream);
+        return budget.limit - budget.permits.availablePermits();
+    }
+
+    public long rejected(String downstream) {
+        return budget(downstream).rejected.get();
+    }
+
+    private Budget budget(String downstream) {
+        return budgets.computeIfAbsent(downstream, name -> new Budget(properties.maxConcurrentFor(name)));
+    }
+
+    private static final class Budget {
+        final int limit;
+        final Semaphore permits;
+        final AtomicLong rejected = new AtomicLong();
+
+        Budget(int limit) {
+            this.limit = limit;
+            this.permits = new Semaphore(limit, true);
+        }
+    }
+}
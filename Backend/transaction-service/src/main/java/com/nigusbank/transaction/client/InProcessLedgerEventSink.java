@@ -0,0 +1,31 @@
+package com.nigusbank.transaction.client;
+
+import com.nigusbank.transaction.dto.LedgerEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * In-process stand-in for the broker, used for local runs and tests.
+ * It is enabled when property `app.outbox.sink=in-process` (the default).
+ * Behavior: each event is re-published as a Spring application event, so local
+ * {@code @EventListener}s can consume ledger entries without a broker.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "in-process", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InProcessLedgerEventSink implements LedgerEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        log.debug("[in-process sink] publishing {} ledger events", events.size());
+        events.forEach(publisher::publishEvent);
+    }
+}
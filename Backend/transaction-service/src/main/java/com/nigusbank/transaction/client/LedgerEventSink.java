@@ -0,0 +1,17 @@
+package com.nigusbank.transaction.client;
+
+import com.nigusbank.transaction.dto.LedgerEvent;
+
+import java.util.List;
+
+/**
+ * Destination for ledger events drained from the outbox by OutboxRelay. A broker-backed
+ * implementation is selected with {@code app.outbox.sink}; delivery is at-least-once, so a
+ * batch may be handed over again if the relay fails before marking it published.
+ * Throwing leaves the whole batch pending; the relay then hands its events over one at a time
+ * to find the ones the sink rejects.
+ */
+public interface LedgerEventSink {
+
+    void publish(List<LedgerEvent> events);
+}
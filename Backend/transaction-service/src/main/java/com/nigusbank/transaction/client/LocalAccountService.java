@@ -1,15 +1,19 @@
 package com.nigusbank.transaction.client;
 
+import com.nigusbank.transaction.dto.AccountBulkRequest;
+import com.nigusbank.transaction.dto.AccountSummary;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Local stub for AccountServiceClient used for local testing without the Account Service.
  * It is enabled when property `app.account.local-stub=true`.
- * Behavior: credit/debit are no-ops but logged. In production, disable this stub and
+ * Behavior: credit/debit are no-ops but logged; every looked-up account exists and is ACTIVE
+ * with an unknown (null) balance. In production, disable this stub and
  * rely on the real Feign client + Eureka discovery.
  */
 @Service
@@ -18,15 +22,23 @@ import java.math.BigDecimal;
 public class LocalAccountService implements AccountServiceClient {
 
     @Override
-    public void debit(Long accountId, BigDecimal amount, String description) {
-        log.info("[local-stub] debit called: accountId={}, amount={}, desc={}", accountId, amount, description);
+    public void debit(Long accountId, BigDecimal amount, String description, String operationKey) {
+        log.info("[local-stub] debit called: accountId={}, amount={}, desc={}, key={}", accountId, amount, description, operationKey);
         // Simulate success; don't persist any account state here.
     }
 
     @Override
-    public void credit(Long accountId, BigDecimal amount, String description) {
-        log.info("[local-stub] credit called: accountId={}, amount={}, desc={}", accountId, amount, description);
+    public void credit(Long accountId, BigDecimal amount, String description, String operationKey) {
+        log.info("[local-stub] credit called: accountId={}, amount={}, desc={}, key={}", accountId, amount, description, operationKey);
         // Simulate success
     }
-}
 
+    @Override
+    public List<AccountSummary> getAccounts(AccountBulkRequest request) {
+        log.info("[local-stub] getAccounts called: {} ids", request.getIds().size());
+        return request.getIds().stream()
+                .distinct()
+                .map(id -> new AccountSummary(id, "ACTIVE", null))
+                .toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.nigusbank.transaction.client;
+
+import com.nigusbank.transaction.dto.AccountSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Local stub for AsyncAccountServiceClient, the offline counterpart of LocalAccountService.
+ * It is enabled when property `app.account.local-stub=true`.
+ * Behavior: every account exists and is ACTIVE with an unknown (null) balance;
+ * credit/debit are logged no-ops. All futures are already complete.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.account", name = "local-stub", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LocalAsyncAccountService implements AsyncAccountServiceClient {
+
+    @Override
+    public CompletableFuture<AccountSummary> getAccount(Long accountId) {
+        log.info("[local-stub] async getAccount called: accountId={}", accountId);
+        return CompletableFuture.completedFuture(new AccountSummary(accountId, "ACTIVE", null));
+    }
+
+    @Override
+    public CompletableFuture<Void> debit(Long accountId, BigDecimal amount, String description, String operationKey) {
+        log.info("[local-stub] async debit called: accountId={}, amount={}, desc={}, key={}", accountId, amount, description, operationKey);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> credit(Long accountId, BigDecimal amount, String description, String operationKey) {
+        log.info("[local-stub] async credit called: accountId={}, amount={}, desc={}, key={}", accountId, amount, description, operationKey);
+        return CompletableFuture.completedFuture(null);
+    }
+}
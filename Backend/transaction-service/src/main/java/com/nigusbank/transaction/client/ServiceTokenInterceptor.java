@@ -0,0 +1,22 @@
+package com.nigusbank.transaction.client;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates every Feign call to account-service as this service, see {@link ServiceTokenProvider}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceTokenInterceptor implements RequestInterceptor {
+
+    private final ServiceTokenProvider serviceTokenProvider;
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceTokenProvider.token());
+    }
+}
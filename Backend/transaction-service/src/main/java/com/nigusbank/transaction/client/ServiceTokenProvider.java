@@ -0,0 +1,63 @@
+package com.nigusbank.transaction.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * The bearer token transaction-service presents to account-service, whose debit and credit
+ * endpoints only accept ROLE_SERVICE. It is an HS256 JWT signed with the secret account-service
+ * verifies its tokens with, minted once and replaced when half its lifetime has passed.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final String HEADER = BASE64_URL.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    // account-service reads the subject as a user id; 0 is never a real one
+    private static final String SUBJECT = "0";
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private volatile Token current;
+
+    public ServiceTokenProvider(@Value("${app.account.auth.secret}") String secret,
+                                @Value("${app.account.auth.token-ttl:PT10M}") Duration ttl) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.ttl = ttl;
+    }
+
+    public String token() {
+        Token token = current;
+        if (token == null || Instant.now().isAfter(token.renewAt())) {
+            token = mint(Instant.now());
+            current = token;
+        }
+        return token.value();
+    }
+
+    private Token mint(Instant now) {
+        Instant expiresAt = now.plus(ttl);
+        String claims = "{\"sub\":\"" + SUBJECT + "\",\"authorities\":\"ROLE_SERVICE\",\"iat\":"
+                + now.getEpochSecond() + ",\"exp\":" + expiresAt.getEpochSecond() + "}";
+        String unsigned = HEADER + "." + BASE64_URL.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            String signature = BASE64_URL.encodeToString(mac.doFinal(unsigned.getBytes(StandardCharsets.US_ASCII)));
+            return new Token(unsigned + "." + signature, now.plus(ttl.dividedBy(2)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign the account-service token", e);
+        }
+    }
+
+    private record Token(String value, Instant renewAt) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.nigusbank.transaction.client;
+
+import com.nigusbank.transaction.dto.AccountSummary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// Production: same endpoints as the Feign client, resolved through the load balancer
+@Service
+@ConditionalOnProperty(prefix = "app.account", name = "local-stub", havingValue = "false")
+public class WebClientAccountServiceClient implements AsyncAccountServiceClient {
+
+    private final WebClient webClient;
+    private final Duration callTimeout;
+
+    public WebClientAccountServiceClient(@Qualifier("accountServiceWebClient") WebClient webClient,
+                                         @Value("${app.account.async.call-timeout:3s}") Duration callTimeout) {
+        this.webClient = webClient;
+        this.callTimeout = callTimeout;
+    }
+
+    @Override
+    public CompletableFuture<AccountSummary> getAccount(Long accountId) {
+        return webClient.get()
+                .uri("/accounts/{accountId}", accountId)
+                .retrieve()
+                .bodyToMono(AccountSummary.class)
+                .timeout(callTimeout)
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> debit(Long accountId, BigDecimal amount, String description, String operationKey) {
+        return move("debit", accountId, amount, description, operationKey);
+    }
+
+    @Override
+    public CompletableFuture<Void> credit(Long accountId, BigDecimal amount, String description, String operationKey) {
+        return move("credit", accountId, amount, description, operationKey);
+    }
+
+    private CompletableFuture<Void> move(String operation, Long accountId, BigDecimal amount, String description,
+                                         String operationKey) {
+        return webClient.put()
+                .uri(uri -> uri.path("/accounts/{accountId}/" + operation)
+                        .queryParam("amount", amount)
+                        .queryParam("description", description)
+                        .build(accountId))
+                .headers(headers -> {
+                    if (operationKey != null) {
+                        headers.set(AccountServiceClient.OPERATION_KEY_HEADER, operationKey);
+                    }
+                })
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(callTimeout)
+                .then()
+                .toFuture();
+    }
+}
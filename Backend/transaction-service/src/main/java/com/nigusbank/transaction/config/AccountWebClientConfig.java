@@ -0,0 +1,59 @@
+package com.nigusbank.transaction.config;
+
+import com.nigusbank.transaction.client.ServiceTokenProvider;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.account", name = "local-stub", havingValue = "false")
+public class AccountWebClientConfig {
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+
+    // Keep-alive connections to account-service; the pool size doubles as its concurrency cap
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider accountServiceConnectionPool(
+            @Value("${app.account.async.max-connections:64}") int maxConnections,
+            @Value("${app.account.async.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${app.account.async.max-idle-time:30s}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("account-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+    }
+
+    @Bean(name = "accountServiceWebClient")
+    public WebClient accountServiceWebClient(
+            @LoadBalanced WebClient.Builder builder,
+            ConnectionProvider accountServiceConnectionPool,
+            ServiceTokenProvider serviceTokenProvider,
+            @Value("${app.account.async.base-url:http://account-service}") String baseUrl,
+            @Value("${app.account.async.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${app.account.async.response-timeout:3s}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(accountServiceConnectionPool)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        return builder.baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultRequest(request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceTokenProvider.token()))
+                .build();
+    }
+}
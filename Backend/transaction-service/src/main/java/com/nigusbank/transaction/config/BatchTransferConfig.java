@@ -0,0 +1,32 @@
+package com.nigusbank.transaction.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class BatchTransferConfig {
+
+    // Shared by all batch requests, so it also caps concurrent calls into account-service
+    @Bean(name = "batchTransferExecutor", destroyMethod = "shutdown")
+    public ExecutorService batchTransferExecutor(
+            @Value("${app.transactions.batch.parallelism:16}") int parallelism,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // Still a fixed pool on virtual threads: parallelism stays the cap, the threads just get cheaper
+        if (virtualThreads) {
+            return Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("batch-transfer-", 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "batch-transfer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+}
@@ -0,0 +1,21 @@
+package com.nigusbank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Concurrent-call budget per downstream, keyed by Feign client name ({@code app.downstream.*}).
+ */
+@ConfigurationProperties(prefix = "app.downstream")
+public record DownstreamLimitProperties(
+        @DefaultValue("64") int defaultMaxConcurrent,
+        @DefaultValue("2s") Duration acquireTimeout,
+        Map<String, Integer> maxConcurrent) {
+
+    public int maxConcurrentFor(String downstream) {
+        return maxConcurrent != null ? maxConcurrent.getOrDefault(downstream, defaultMaxConcurrent) : defaultMaxConcurrent;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nigusbank.transaction.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class TransferSagaConfig {
+
+    // Runs accepted transfers after the 202 and the recovery worker's batches
+    @Bean(name = "transferSagaExecutor", destroyMethod = "shutdown")
+    public ExecutorService transferSagaExecutor(
+            @Value("${app.transactions.saga.parallelism:16}") int parallelism,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("transfer-saga-", 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "transfer-saga-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+}
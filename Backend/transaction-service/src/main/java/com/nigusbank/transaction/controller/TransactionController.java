@@ -1,14 +1,24 @@
 package com.nigusbank.transaction.controller;
 
 import com.nigusbank.transaction.dto.*;
+import com.nigusbank.transaction.entity.Transaction;
+import com.nigusbank.transaction.exception.TransactionException;
+import com.nigusbank.transaction.service.IdempotencyService;
 import com.nigusbank.transaction.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/transactions")
@@ -16,42 +26,119 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
 
 
     @PostMapping("/deposit")
     public ResponseEntity<TransactionResponse> deposit(
-            @Valid @RequestBody DepositRequest request) {
+            @Valid @RequestBody DepositRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
 
-        TransactionResponse response = transactionService.deposit(request);
+        TransactionResponse response = idempotencyService.execute(idempotencyKey, "DEPOSIT", request,
+                TransactionResponse.class, () -> transactionService.deposit(request, idempotencyKey));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
 
     @PostMapping("/withdraw")
     public ResponseEntity<TransactionResponse> withdraw(
-            @Valid @RequestBody WithdrawRequest request) {
+            @Valid @RequestBody WithdrawRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
-        TransactionResponse response = transactionService.withdraw(request);
+        TransactionResponse response = idempotencyService.execute(idempotencyKey, "WITHDRAW", request,
+                TransactionResponse.class, () -> transactionService.withdraw(request, idempotencyKey));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // 200 once the transfer is CREDITED; 202 while it is still running, with Location to poll
     @PostMapping("/transfer")
-    public ResponseEntity<Void> transfer(
-            @Valid @RequestBody TransferRequest request) {
+    public ResponseEntity<TransferStatusResponse> transfer(
+            @Valid @RequestBody TransferRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+
+        TransferStatusResponse response = idempotencyService.execute(idempotencyKey, "TRANSFER", request,
+                TransferStatusResponse.class, () -> transactionService.transfer(request));
+        if ("CREDITED".equals(response.getStatus())) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/transactions/transfers/" + response.getTransferId()))
+                .body(response);
+    }
 
-        transactionService.transfer(request);
-        return ResponseEntity.ok().build();
+    @GetMapping("/transfers/{transferId}")
+    public ResponseEntity<TransferStatusResponse> getTransfer(@PathVariable Long transferId) {
+        return ResponseEntity.ok(transactionService.getTransfer(transferId));
     }
 
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(
+            @Valid @RequestBody BatchTransferRequest request) {
+
+        BatchTransferResponse response = transactionService.transferBatch(request);
+        return ResponseEntity.ok(response);
+    }
 
-    @GetMapping("/history")
-    public ResponseEntity<List<TransactionResponse>> getTransactionHistory(
-            @RequestParam("accountId") Long accountId) {
 
-        List<TransactionResponse> history = transactionService.getHistory(accountId);
+    @GetMapping("/history")
+    public ResponseEntity<TransactionPage> getTransactionHistory(
+            @RequestParam("accountId") Long accountId,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "type", required = false) Transaction.TransactionType type,
+            @RequestParam(value = "minAmount", required = false) BigDecimal minAmount,
+            @RequestParam(value = "maxAmount", required = false) BigDecimal maxAmount,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        TransactionHistoryQuery query = TransactionHistoryQuery.builder()
+                .accountId(accountId)
+                .from(from)
+                .to(to)
+                .type(type)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+
+        TransactionPage history = transactionService.getHistory(query);
         return ResponseEntity.ok(history);
     }
 
+    // Streams the whole statement from a DB cursor; nothing is buffered beyond one flush chunk
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @RequestParam("accountId") Long accountId,
+            @RequestParam(value = "format", defaultValue = "NDJSON") StatementFormat format,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        // Validate up front: once streaming starts the response is already committed
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new TransactionException("'from' must be before 'to'");
+        }
+
+        TransactionHistoryQuery query = TransactionHistoryQuery.builder()
+                .accountId(accountId)
+                .from(from)
+                .to(to)
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDisposition(ContentDisposition.builder("attachment")
+                .filename("statement-" + accountId + "." + format.getFileExtension())
+                .build());
+
+        StreamingResponseBody body = out -> transactionService.exportStatement(query, format, out);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
 
 }
\ No newline at end of file
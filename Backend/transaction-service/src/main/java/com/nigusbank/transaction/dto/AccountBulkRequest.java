@@ -0,0 +1,21 @@
+package com.nigusbank.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Body of account-service's {@code POST /accounts/_bulk}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBulkRequest {
+
+    private List<Long> ids;             // at most 2000 per call
+
+    private Set<String> fields;         // any of id, status, balance, currency; null means all
+}
@@ -0,0 +1,24 @@
+package com.nigusbank.transaction.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of account-service's Account that transaction-service checks before moving money.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AccountSummary {
+
+    private Long id;
+
+    private String status;              // ACTIVE, DORMANT, CLOSED
+
+    private BigDecimal balance;         // null when the source cannot say (local stub)
+}
@@ -0,0 +1,19 @@
+package com.nigusbank.transaction.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferRequest {
+
+    @NotEmpty(message = "At least one transfer is required")
+    @Size(max = 1000, message = "A batch cannot contain more than 1000 transfers")
+    private List<@Valid TransferRequest> transfers;
+}
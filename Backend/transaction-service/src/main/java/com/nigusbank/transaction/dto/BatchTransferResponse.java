@@ -0,0 +1,25 @@
+package com.nigusbank.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResponse {
+
+    private int succeeded;
+
+    private int failed;
+
+    private int pending;
+
+    private List<BatchTransferResult> results;   // one per submitted transfer, in submission order
+
+    public static BatchTransferResponse of(List<BatchTransferResult> results) {
+        int ok = (int) results.stream().filter(r -> "SUCCEEDED".equals(r.getStatus())).count();
+        int failed = (int) results.stream().filter(r -> "FAILED".equals(r.getStatus())).count();
+        return new BatchTransferResponse(ok, failed, results.size() - ok - failed, results);
+    }
+}
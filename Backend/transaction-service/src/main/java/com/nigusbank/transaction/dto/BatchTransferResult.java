@@ -0,0 +1,29 @@
+package com.nigusbank.transaction.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResult {
+
+    private int index;                  // position of the transfer in the submitted batch
+
+    private Long transferId;            // saga id, poll GET /transactions/transfers/{id} while PENDING
+
+    private String status;              // SUCCEEDED, FAILED, PENDING (retrying in the background)
+
+    private String error;               // failure reason, null on success
+
+    public static BatchTransferResult succeeded(int index, Long transferId) {
+        return new BatchTransferResult(index, transferId, "SUCCEEDED", null);
+    }
+
+    public static BatchTransferResult failed(int index, Long transferId, String error) {
+        return new BatchTransferResult(index, transferId, "FAILED", error);
+    }
+
+    public static BatchTransferResult pending(int index, Long transferId) {
+        return new BatchTransferResult(index, transferId, "PENDING", null);
+    }
+}
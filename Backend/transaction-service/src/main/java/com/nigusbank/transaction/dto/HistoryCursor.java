@@ -0,0 +1,50 @@
+package com.nigusbank.transaction.dto;
+
+import com.nigusbank.transaction.entity.Transaction;
+import com.nigusbank.transaction.exception.TransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (created_at DESC, id DESC) ordering of an account's history.
+ * Clients only ever see the encoded form, so the layout can change without breaking them.
+ * The cursor carries a fingerprint of the filters it was issued under, so it cannot be
+ * replayed against a different query and silently skip or repeat rows.
+ */
+public record HistoryCursor(LocalDateTime createdAt, Long id, String filters) {
+
+    private static final char SEPARATOR = '|';
+
+    public static HistoryCursor of(Transaction transaction, TransactionHistoryQuery query) {
+        return new HistoryCursor(transaction.getCreatedAt(), transaction.getId(), query.filterFingerprint());
+    }
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id + SEPARATOR + filters;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor and checks it belongs to {@code query}'s filters.
+     */
+    public static HistoryCursor decode(String token, TransactionHistoryQuery query) {
+        HistoryCursor cursor;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new TransactionException("Invalid history cursor");
+            }
+            cursor = new HistoryCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new TransactionException("Invalid history cursor", e);
+        }
+        if (!cursor.filters().equals(query.filterFingerprint())) {
+            throw new TransactionException("History cursor was issued for different filters; start again without it");
+        }
+        return cursor;
+    }
+}
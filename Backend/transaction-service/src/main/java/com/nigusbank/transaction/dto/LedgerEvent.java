@@ -0,0 +1,22 @@
+package com.nigusbank.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * What an {@link com.nigusbank.transaction.client.LedgerEventSink} receives for each outbox row.
+ * {@code eventId} is stable across redeliveries, so consumers can de-duplicate on it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEvent {
+    private Long eventId;
+    private String eventType;
+    private Long accountId;
+    private String payload;
+    private LocalDateTime occurredAt;
+}
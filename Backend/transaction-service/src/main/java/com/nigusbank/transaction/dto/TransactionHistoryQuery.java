@@ -0,0 +1,54 @@
+package com.nigusbank.transaction.dto;
+
+import com.nigusbank.transaction.entity.Transaction;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Server-side filters and keyset position for one page of transaction history.
+ * All filters are optional except the account; amount bounds apply to the absolute
+ * amount so "over 1,000" matches both a 1,500 deposit and a 1,500 withdrawal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryQuery {
+
+    private Long accountId;
+
+    private LocalDateTime from;         // inclusive
+
+    private LocalDateTime to;           // exclusive
+
+    private Transaction.TransactionType type;
+
+    private BigDecimal minAmount;       // inclusive, compared against |amount|
+
+    private BigDecimal maxAmount;       // inclusive, compared against |amount|
+
+    private String cursor;              // opaque token from the previous page's nextCursor
+
+    private Integer limit;
+
+    /**
+     * Short hash of everything that decides which rows match, but not of the page position or
+     * size. Amounts are compared by value, so 100 and 100.00 give the same fingerprint.
+     */
+    public String filterFingerprint() {
+        String filters = String.join(",", Objects.toString(accountId), Objects.toString(from), Objects.toString(to),
+                Objects.toString(type), plain(minAmount), plain(maxAmount));
+        CRC32 crc = new CRC32();
+        crc.update(filters.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount == null ? "null" : amount.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.nigusbank.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPage {
+
+    private List<TransactionResponse> items;
+
+    // Pass back as ?cursor= to fetch the next page; null when this is the last page
+    private String nextCursor;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,45 @@
+package com.nigusbank.transaction.dto;
+
+import com.nigusbank.transaction.entity.TransferSaga;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferStatusResponse {
+
+    private Long transferId;
+
+    private String status;              // PENDING, DEBITED, CREDITED, COMPENSATING, FAILED
+
+    private Long fromAccountId;
+
+    private Long toAccountId;
+
+    private BigDecimal amount;
+
+    private String currency;
+
+    private String failureReason;       // set once the transfer has FAILED
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public static TransferStatusResponse fromEntity(TransferSaga saga) {
+        TransferStatusResponse r = new TransferStatusResponse();
+        r.setTransferId(saga.getId());
+        r.setStatus(saga.getStatus().name());
+        r.setFromAccountId(saga.getFromAccountId());
+        r.setToAccountId(saga.getToAccountId());
+        r.setAmount(saga.getAmount());
+        r.setCurrency(saga.getCurrency());
+        r.setFailureReason(saga.getFailureReason());
+        r.setCreatedAt(saga.getCreatedAt());
+        r.setUpdatedAt(saga.getUpdatedAt());
+        return r;
+    }
+}
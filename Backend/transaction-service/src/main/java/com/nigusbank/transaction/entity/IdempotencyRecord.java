@@ -0,0 +1,46 @@
+package com.nigusbank.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 20)
+    private String operation;           // DEPOSIT, WITHDRAW, TRANSFER
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;         // SHA-256 of the request body, to reject key reuse
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;        // JSON of the original response, null for void operations
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * IN_PROGRESS while the action runs, then COMPLETED with its response. An action that failed
+     * after it may have reached account-service ends UNKNOWN, as does one whose IN_PROGRESS
+     * lease ran out (its instance died). Both keep the key until it is purged.
+     */
+    public enum Status {
+        IN_PROGRESS, COMPLETED, UNKNOWN
+    }
+}
@@ -0,0 +1,48 @@
+package com.nigusbank.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events",
+        indexes = @Index(name = "idx_outbox_events_pending", columnList = "published_at, id"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public static final String LEDGER_ENTRY_RECORDED = "LEDGER_ENTRY_RECORDED";
+
+    // Pooled like Transaction ids, so outbox rows join the same JDBC insert batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_event_ids")
+    @TableGenerator(name = "outbox_event_ids", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "outbox_events", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;           // account the event belongs to
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;             // JSON of the TransactionResponse
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;  // null until the relay hands it to the sink
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;   // set once the relay gives up; such rows are never relayed
+}
@@ -7,13 +7,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Keep in sync with db/migration/V2__transactions_history_indexes.sql
+        @Index(name = "idx_transactions_account_created", columnList = "account_id, created_at DESC, id DESC"),
+        @Index(name = "idx_transactions_type_created", columnList = "type, created_at")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 @Builder
 public class Transaction {
 
+    // Pooled table hi/lo instead of IDENTITY so Hibernate can batch inserts; see V4 migration
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_ids")
+    @TableGenerator(name = "transaction_ids", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "transactions", allocationSize = 50)
     private Long id;
 
     @Column(name = "account_id", nullable = false)
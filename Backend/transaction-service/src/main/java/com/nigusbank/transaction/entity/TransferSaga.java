@@ -0,0 +1,71 @@
+package com.nigusbank.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "transfer_sagas",
+        indexes = @Index(name = "idx_transfer_sagas_next_attempt", columnList = "next_attempt_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TransferSaga {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transfer_saga_ids")
+    @TableGenerator(name = "transfer_saga_ids", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "transfer_sagas", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "from_account_id", nullable = false)
+    private Long fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private Long toAccountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    @Column(nullable = false)
+    private int attempts;               // failed attempts at the current step
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;    // when recovery may pick it up; null once terminal
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    /**
+     * PENDING -> DEBITED -> CREDITED on the happy path. A rejected debit goes straight to FAILED;
+     * a credit that cannot be applied goes DEBITED -> COMPENSATING -> FAILED once the source is
+     * credited back.
+     */
+    public enum Status {
+        PENDING, DEBITED, CREDITED, COMPENSATING, FAILED;
+
+        public boolean isTerminal() {
+            return this == CREDITED || this == FAILED;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nigusbank.transaction.exception;
+
+/**
+ * No permit for a downstream service became free within the acquire timeout.
+ * The remote call was never made, so retrying later is always safe.
+ */
+public class DownstreamSaturatedException extends RuntimeException {
+
+    public DownstreamSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.nigusbank.transaction.exception;
+
+/**
+ * An Idempotency-Key is either still being processed by another request
+ * or was first used with a different request body.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,226 @@
+package com.nigusbank.transaction.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigusbank.transaction.entity.IdempotencyRecord;
+import com.nigusbank.transaction.exception.DownstreamSaturatedException;
+import com.nigusbank.transaction.exception.IdempotencyConflictException;
+import com.nigusbank.transaction.exception.TransactionException;
+import com.nigusbank.transaction.repository.IdempotencyRecordRepository;
+import com.nigusbank.transaction.service.IdempotencyService;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency keys are claimed with an INSERT on the idempotency_keys primary key before the
+ * action runs, so concurrent retries cannot both reach account-service. Completed responses are
+ * kept in a bounded LRU map in front of the table: a replay on the instance that served the
+ * original request costs no I/O, and on any other instance it costs one primary-key lookup.
+ * <p>
+ * A failed action frees its key only when it certainly changed nothing: a local rejection, a
+ * 4xx from account-service, or a call the limiter never sent. Any other failure (a timeout, a
+ * 5xx, a local error after the remote call) is recorded UNKNOWN, and retries with the key get
+ * 409 instead of a second attempt. A claim still IN_PROGRESS after {@code lease} is treated the
+ * same way, and every key is purged {@code retention} after it was first used.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CompletedResult> completed;
+    private final Duration lease;
+    private final Duration retention;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository repository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+                                  @Value("${app.idempotency.lease:PT5M}") Duration lease,
+                                  @Value("${app.idempotency.retention:P1D}") Duration retention) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+        this.retention = retention;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletedResult> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public <T> T execute(String key, String operation, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new TransactionException(HEADER + " cannot exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(operation, request);
+
+        CompletedResult previous = findCompleted(key, operation, requestHash);
+        if (previous != null) {
+            return replay(key, previous, responseType);
+        }
+
+        try {
+            repository.claim(key, operation, requestHash, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race to another request with the same key; it may have finished meanwhile
+            previous = findCompleted(key, operation, requestHash);
+            if (previous == null) {
+                throw new IdempotencyConflictException("A request with this " + HEADER + " is already being processed");
+            }
+            return replay(key, previous, responseType);
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            if (changedNothing(e)) {
+                // Free the key and let the client retry with it
+                repository.deleteById(key);
+            } else {
+                log.warn("{} with {}={} failed with an unknown outcome: {}", operation, HEADER, key, e.getMessage());
+                repository.complete(key, IdempotencyRecord.Status.UNKNOWN, null, LocalDateTime.now());
+            }
+            throw e;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String body = toJson(result);
+        repository.complete(key, IdempotencyRecord.Status.COMPLETED, body, now);
+        completed.put(key, new CompletedResult(operation, requestHash, body, now));
+        return result;
+    }
+
+    /**
+     * Marks claims whose lease ran out as UNKNOWN and deletes keys older than the retention,
+     * which frees them for reuse.
+     */
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 15 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = repository.updateStatusClaimedBefore(IdempotencyRecord.Status.IN_PROGRESS,
+                IdempotencyRecord.Status.UNKNOWN, now.minus(lease), now);
+        int deleted = repository.deleteCreatedBefore(now.minus(retention));
+        if (abandoned > 0 || deleted > 0) {
+            log.info("Idempotency keys: {} abandoned claims marked UNKNOWN, {} purged after {}", abandoned, deleted, retention);
+        }
+    }
+
+    // True only when account-service certainly did not apply anything for this request
+    private static boolean changedNothing(RuntimeException e) {
+        if (e instanceof DownstreamSaturatedException) {
+            return true;
+        }
+        if (e instanceof TransactionException) {
+            Throwable cause = e.getCause();
+            return cause == null
+                    || cause instanceof DownstreamSaturatedException
+                    || cause instanceof FeignException fe && fe.status() >= 400 && fe.status() < 500;
+        }
+        return e instanceof FeignException fe && fe.status() >= 400 && fe.status() < 500;
+    }
+
+    private CompletedResult findCompleted(String key, String operation, String requestHash) {
+        CompletedResult cached = completed.get(key);
+        if (cached != null && cached.completedAt().isBefore(LocalDateTime.now().minus(retention))) {
+            // Purged from the table by now, so the key may have been reused
+            completed.remove(key);
+            cached = null;
+        }
+        if (cached == null) {
+            IdempotencyRecord record = repository.findById(key).orElse(null);
+            if (record == null) {
+                return null;
+            }
+            checkSameRequest(record.getOperation(), record.getRequestHash(), operation, requestHash);
+            if (record.getStatus() == IdempotencyRecord.Status.UNKNOWN
+                    || record.getStatus() == IdempotencyRecord.Status.IN_PROGRESS
+                    && record.getCreatedAt().isBefore(LocalDateTime.now().minus(lease))) {
+                throw new IdempotencyConflictException("The earlier request with this " + HEADER
+                        + " failed and may have been applied; check the transaction history before retrying with a new key");
+            }
+            if (record.getStatus() != IdempotencyRecord.Status.COMPLETED) {
+                throw new IdempotencyConflictException("A request with this " + HEADER + " is already being processed");
+            }
+            cached = new CompletedResult(record.getOperation(), record.getRequestHash(), record.getResponseBody(),
+                    record.getCompletedAt());
+            completed.put(key, cached);
+        }
+
+        checkSameRequest(cached.operation(), cached.requestHash(), operation, requestHash);
+        return cached;
+    }
+
+    private <T> T replay(String key, CompletedResult previous, Class<T> responseType) {
+        log.debug("Replaying {} response for {}={}", previous.operation(), HEADER, key);
+        return fromJson(previous.responseBody(), responseType);
+    }
+
+    private static void checkSameRequest(String storedOperation, String storedHash, String operation, String requestHash) {
+        if (!storedOperation.equals(operation) || !storedHash.equals(requestHash)) {
+            throw new IdempotencyConflictException(HEADER + " was already used for a different request");
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Unable to hash request for idempotency check", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to store idempotent response", e);
+        }
+    }
+
+    private <T> T fromJson(String body, Class<T> type) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored idempotent response", e);
+        }
+    }
+
+    private record CompletedResult(String operation, String requestHash, String responseBody, LocalDateTime completedAt) {
+    }
+}
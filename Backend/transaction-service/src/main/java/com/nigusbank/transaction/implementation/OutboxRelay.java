@@ -0,0 +1,161 @@
+package com.nigusbank.transaction.implementation;
+
+import com.nigusbank.transaction.client.LedgerEventSink;
+import com.nigusbank.transaction.dto.LedgerEvent;
+import com.nigusbank.transaction.entity.OutboxEvent;
+import com.nigusbank.transaction.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains outbox_events to the configured {@link LedgerEventSink} in id order.
+ * <p>
+ * Each batch is locked with SKIP LOCKED, handed to the sink and marked published in one
+ * transaction, so several instances can relay concurrently without publishing the same row
+ * twice. If the sink rejects a batch, its events are handed over one at a time: those accepted
+ * are marked published, and each rejected one gets its attempt count bumped before the run stops.
+ * <p>
+ * An event rejected {@code max-attempts} times while other events got through is a poison
+ * event, not an outage, so it is dead-lettered: excluded from relaying and kept for inspection.
+ * The events behind it are then published out of id order for that one gap. When nothing gets
+ * through, the sink is assumed down and nothing is dead-lettered.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final LedgerEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int retentionDays;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       LedgerEventSink sink,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${app.outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    void scheduledRelay() {
+        if (enabled) {
+            relayPending();
+        }
+    }
+
+    /**
+     * Publishes batches until the outbox is empty or the sink fails.
+     *
+     * @return number of events published by this run
+     */
+    public int relayPending() {
+        int total = 0;
+        while (true) {
+            Integer published = transactionTemplate.execute(status -> relayBatch());
+            if (published == null || published < 0) {
+                return total;
+            }
+            total += published;
+            if (published < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    // Returns the number published, or -1 if the sink rejected any event of the batch
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockPending(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.publish(batch.stream().map(OutboxRelay::toLedgerEvent).toList());
+        } catch (RuntimeException e) {
+            log.warn("Ledger event sink failed for {} events starting at id={}: {}",
+                    batch.size(), batch.get(0).getId(), e.getMessage());
+            if (batch.size() == 1) {
+                recordFailure(batch.get(0), e);
+                return -1;
+            }
+            relayOneByOne(batch);
+            return -1;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        batch.forEach(event -> event.setPublishedAt(now));
+        return batch.size();
+    }
+
+    private void relayOneByOne(List<OutboxEvent> batch) {
+        List<OutboxEvent> rejected = new ArrayList<>();
+        int published = 0;
+        for (OutboxEvent event : batch) {
+            try {
+                sink.publish(List.of(toLedgerEvent(event)));
+                event.setPublishedAt(LocalDateTime.now());
+                published++;
+            } catch (RuntimeException e) {
+                // Keep going: stopping early would let a run of poison events hide the good ones behind it
+                recordFailure(event, e);
+                rejected.add(event);
+            }
+        }
+        if (published == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : rejected) {
+            if (event.getAttempts() >= maxAttempts) {
+                event.setDeadLetteredAt(now);
+                log.error("Dead-lettered outbox event id={} after {} attempts: {}",
+                        event.getId(), event.getAttempts(), event.getLastError());
+            }
+        }
+    }
+
+    private static void recordFailure(OutboxEvent event, RuntimeException e) {
+        String error = String.valueOf(e.getMessage());
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+    }
+
+    private static LedgerEvent toLedgerEvent(OutboxEvent e) {
+        return new LedgerEvent(e.getId(), e.getEventType(), e.getAggregateId(), e.getPayload(), e.getCreatedAt());
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 0 3 * * *}")
+    public void purgePublished() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events older than {} days", deleted, retentionDays);
+        }
+    }
+}
@@ -1,20 +1,50 @@
 package com.nigusbank.transaction.implementation;
 
 import com.nigusbank.transaction.client.AccountServiceClient;
+import com.nigusbank.transaction.client.AsyncAccountServiceClient;
 import com.nigusbank.transaction.dto.*;
 import com.nigusbank.transaction.entity.Transaction;
+import com.nigusbank.transaction.entity.TransferSaga;
 import com.nigusbank.transaction.exception.TransactionException;
+import com.nigusbank.transaction.repository.TransactionBatchWriter;
 import com.nigusbank.transaction.repository.TransactionRepository;
 import com.nigusbank.transaction.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,17 +52,36 @@ public class TransactionServiceImpl implements TransactionService {
 
     private static final Logger log = LoggerFactory.getLogger(TransactionServiceImpl.class);
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int EXPORT_FLUSH_EVERY = 500;
+    static final int MAX_OPERATION_KEY_LENGTH = 100;
+
     private final TransactionRepository transactionRepository;
     private final AccountServiceClient accountClient;
+    private final AsyncAccountServiceClient asyncAccountClient;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final TransferSagaOrchestrator transferSagaOrchestrator;
+    @Qualifier("batchTransferExecutor")
+    private final ExecutorService batchTransferExecutor;
+    @Value("${app.transactions.transfer.async:true}")
+    private final boolean asyncTransfers;
+    @Value("${app.transactions.transfer.validate-accounts:false}")
+    private final boolean validateAccounts;
 
+    // deposit and withdraw are deliberately not @Transactional: the account-service call runs
+    // without a connection, and only the final insert (rows plus outbox events) takes one.
+    // Transfers go through TransferSagaOrchestrator, which commits its state around each call.
     @Override
-    @Transactional
-    public TransactionResponse deposit(DepositRequest request) {
+    public TransactionResponse deposit(DepositRequest request, String idempotencyKey) {
         try {
             accountClient.credit(
                     request.getAccountId(),
                     request.getAmount(),
-                    "Deposit" + (request.getDescription() != null ? " - " + request.getDescription() : "")
+                    "Deposit" + (request.getDescription() != null ? " - " + request.getDescription() : ""),
+                    operationKey("deposit-", idempotencyKey)
             );
 
             Transaction tx = new Transaction();
@@ -42,7 +91,7 @@ public class TransactionServiceImpl implements TransactionService {
             tx.setCurrency(request.getCurrency());
             tx.setDescription(request.getDescription());
 
-            transactionRepository.save(tx);
+            transactionBatchWriter.insertAll(List.of(tx));
             return TransactionResponse.fromEntity(tx);
 
         } catch (FeignException e) {
@@ -51,13 +100,13 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    @Transactional
-    public TransactionResponse withdraw(WithdrawRequest request) {
+    public TransactionResponse withdraw(WithdrawRequest request, String idempotencyKey) {
         try {
             accountClient.debit(
                     request.getAccountId(),
                     request.getAmount(),
-                    "Withdrawal" + (request.getDescription() != null ? " - " + request.getDescription() : "")
+                    "Withdrawal" + (request.getDescription() != null ? " - " + request.getDescription() : ""),
+                    operationKey("withdraw-", idempotencyKey)
             );
 
             Transaction tx = new Transaction();
@@ -67,7 +116,7 @@ public class TransactionServiceImpl implements TransactionService {
             tx.setCurrency(request.getCurrency());
             tx.setDescription(request.getDescription());
 
-            transactionRepository.save(tx);
+            transactionBatchWriter.insertAll(List.of(tx));
             return TransactionResponse.fromEntity(tx);
 
         } catch (FeignException e) {
@@ -75,60 +124,278 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
+    /**
+     * The account-service operation key for a client request: the prefix keeps it apart from the
+     * saga's {@code transfer-<id>-...} keys. account-service takes at most 100 characters, so a
+     * client key too long for that is replaced by its SHA-256.
+     */
+    private static String operationKey(String prefix, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return null;
+        }
+        if (prefix.length() + idempotencyKey.length() <= MAX_OPERATION_KEY_LENGTH) {
+            return prefix + idempotencyKey;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return prefix + HexFormat.of().formatHex(digest.digest(idempotencyKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     @Override
-    @Transactional
-    public void transfer(TransferRequest request) {
-        Long from = request.getFromAccountId();
-        Long to = request.getToAccountId();
-        String desc = request.getDescription() != null ? request.getDescription() : "Transfer";
+    public TransferStatusResponse transfer(TransferRequest request) {
+        if (validateAccounts) {
+            validateAccounts(request);
+        }
+        TransferSaga saga = transferSagaOrchestrator.start(request);
+        if (asyncTransfers) {
+            // The PENDING row is committed, so the transfer survives a crash from here on
+            transferSagaOrchestrator.runAsync(saga.getId());
+            return TransferStatusResponse.fromEntity(saga);
+        }
 
+        saga = transferSagaOrchestrator.run(saga.getId());
+        if (saga.getStatus() == TransferSaga.Status.FAILED) {
+            throw new TransactionException(saga.getFailureReason());
+        }
+        return TransferStatusResponse.fromEntity(saga);
+    }
+
+    /**
+     * Rejects the transfer up front when either account is not ACTIVE or the source balance is
+     * known to be short. Both lookups are in flight at once, so this costs one account-service
+     * round-trip, not two.
+     */
+    private void validateAccounts(TransferRequest request) {
+        CompletableFuture<AccountSummary> from = asyncAccountClient.getAccount(request.getFromAccountId());
+        CompletableFuture<AccountSummary> to = asyncAccountClient.getAccount(request.getToAccountId());
         try {
-            // 1. Debit source account (remote)
-            accountClient.debit(from, request.getAmount(), "Transfer to " + to + " - " + desc);
-
-            // 2. Credit destination account (remote)
-            try {
-                accountClient.credit(to, request.getAmount(), "Transfer from " + from + " - " + desc);
-            } catch (FeignException creditEx) {
-                log.error("Credit to destination failed after debit. Attempting compensation (credit back) - from={}, to={}, amount={}", from, to, request.getAmount());
-                // Attempt to undo the debit by crediting back the source
-                try {
-                    accountClient.credit(from, request.getAmount(), "Compensation for failed transfer to " + to + " - " + desc);
-                } catch (Exception compEx) {
-                    // Compensation failed — this is a serious inconsistency, bubble up
-                    throw new TransactionException("Transfer failed and compensation also failed. Manual intervention required. creditEx=" + creditEx.getMessage() + ", compEx=" + compEx.getMessage(), compEx);
+            CompletableFuture.allOf(from, to).join();
+        } catch (CompletionException e) {
+            throw new TransactionException("Failed to look up accounts: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        AccountSummary source = from.join();
+        AccountSummary destination = to.join();
+        requireActive(source, request.getFromAccountId());
+        requireActive(destination, request.getToAccountId());
+        if (source.getBalance() != null && source.getBalance().compareTo(request.getAmount()) < 0) {
+            throw new TransactionException("Insufficient funds in account " + request.getFromAccountId());
+        }
+    }
+
+    private static void requireActive(AccountSummary account, Long accountId) {
+        if (account == null || !"ACTIVE".equals(account.getStatus())) {
+            throw new TransactionException("Account " + accountId + " is not active"
+                    + (account != null ? " (" + account.getStatus() + ")" : ""));
+        }
+    }
+
+    @Override
+    public TransferStatusResponse getTransfer(Long transferId) {
+        return TransferStatusResponse.fromEntity(transferSagaOrchestrator.find(transferId));
+    }
+
+    @Override
+    public BatchTransferResponse transferBatch(BatchTransferRequest request) {
+        List<TransferRequest> transfers = request.getTransfers();
+        BatchTransferResult[] results = new BatchTransferResult[transfers.size()];
+        Map<Integer, String> rejected = validateAccounts ? findInactiveAccounts(transfers) : Map.of();
+
+        // Transfers from the same source run in order on one worker, so they never race each
+        // other for that account's balance; different sources proceed in parallel.
+        Map<Long, List<Integer>> bySource = new LinkedHashMap<>();
+        for (int i = 0; i < transfers.size(); i++) {
+            bySource.computeIfAbsent(transfers.get(i).getFromAccountId(), k -> new ArrayList<>()).add(i);
+        }
+
+        // Sagas whose credit landed, by index; their ledger legs are written together at the end
+        Map<Integer, TransferSaga> credited = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> groups = new ArrayList<>(bySource.size());
+        for (List<Integer> indexes : bySource.values()) {
+            groups.add(CompletableFuture.runAsync(() -> {
+                for (int i : indexes) {
+                    TransferRequest transfer = transfers.get(i);
+                    if (rejected.containsKey(i)) {
+                        results[i] = BatchTransferResult.failed(i, null, rejected.get(i));
+                        continue;
+                    }
+                    try {
+                        List<TransferSaga> landed = new ArrayList<>(1);
+                        TransferSaga saga = transferSagaOrchestrator.run(transferSagaOrchestrator.start(transfer).getId(), landed);
+                        if (!landed.isEmpty()) {
+                            credited.put(i, landed.get(0));
+                        }
+                        results[i] = switch (saga.getStatus()) {
+                            case CREDITED -> BatchTransferResult.succeeded(i, saga.getId());
+                            case FAILED -> BatchTransferResult.failed(i, saga.getId(), saga.getFailureReason());
+                            default -> BatchTransferResult.pending(i, saga.getId());
+                        };
+                    } catch (RuntimeException e) {
+                        log.warn("Batch transfer item {} failed: from={}, to={}, amount={}: {}",
+                                i, transfer.getFromAccountId(), transfer.getToAccountId(), transfer.getAmount(), e.getMessage());
+                        results[i] = BatchTransferResult.failed(i, null, e.getMessage());
+                    }
                 }
-                throw new TransactionException("Failed to credit destination account: " + creditEx.getMessage(), creditEx);
-            }
+            }, batchTransferExecutor));
+        }
+        CompletableFuture.allOf(groups.toArray(new CompletableFuture[0])).join();
 
-            // 3. Persist transaction records only after both remote operations succeeded
-            Transaction out = new Transaction();
-            out.setAccountId(from);
-            out.setAmount(request.getAmount().negate());
-            out.setType(Transaction.TransactionType.TRANSFER_OUT);
-            out.setCurrency(request.getCurrency());
-            out.setDescription(desc + " -> " + to);
-            transactionRepository.save(out);
-
-            Transaction in = new Transaction();
-            in.setAccountId(to);
-            in.setAmount(request.getAmount());
-            in.setType(Transaction.TransactionType.TRANSFER_IN);
-            in.setCurrency(request.getCurrency());
-            in.setDescription(desc + " <- " + from);
-            transactionRepository.save(in);
+        List<Integer> indexes = new ArrayList<>(credited.keySet());
+        List<TransferSaga> completed = transferSagaOrchestrator.completeAll(indexes.stream().map(credited::get).toList());
+        for (int n = 0; n < indexes.size(); n++) {
+            int i = indexes.get(n);
+            TransferSaga saga = completed.get(n);
+            results[i] = saga.getStatus() == TransferSaga.Status.CREDITED
+                    ? BatchTransferResult.succeeded(i, saga.getId())
+                    : BatchTransferResult.pending(i, saga.getId());
+        }
+
+        return BatchTransferResponse.of(Arrays.asList(results));
+    }
 
+    /**
+     * Looks up the status of every account in the batch with one bulk call, and returns the
+     * reason each transfer touching a missing or non-ACTIVE account would fail, by index.
+     */
+    private Map<Integer, String> findInactiveAccounts(List<TransferRequest> transfers) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (TransferRequest transfer : transfers) {
+            ids.add(transfer.getFromAccountId());
+            ids.add(transfer.getToAccountId());
+        }
+        Map<Long, String> statuses = new HashMap<>();
+        try {
+            for (AccountSummary account : accountClient.getAccounts(new AccountBulkRequest(new ArrayList<>(ids), Set.of("status")))) {
+                statuses.put(account.getId(), account.getStatus());
+            }
         } catch (FeignException e) {
-            // network/remote failure
-            throw new TransactionException("Transfer failed due to remote call failure: " + e.getMessage(), e);
+            throw new TransactionException("Failed to look up accounts: " + e.getMessage(), e);
         }
+
+        Map<Integer, String> rejected = new HashMap<>();
+        for (int i = 0; i < transfers.size(); i++) {
+            for (Long accountId : List.of(transfers.get(i).getFromAccountId(), transfers.get(i).getToAccountId())) {
+                String status = statuses.get(accountId);
+                if (!"ACTIVE".equals(status)) {
+                    rejected.put(i, status == null
+                            ? "Account " + accountId + " not found"
+                            : "Account " + accountId + " is not active (" + status + ")");
+                    break;
+                }
+            }
+        }
+        return rejected;
     }
 
     @Override
-    public List<TransactionResponse> getHistory(Long accountId) {
-        return transactionRepository.findByAccountId(accountId)
-                .stream()
+    @Transactional(readOnly = true)
+    public TransactionPage getHistory(TransactionHistoryQuery query) {
+        validateHistoryQuery(query);
+
+        int limit = query.getLimit() == null ? DEFAULT_PAGE_SIZE : query.getLimit();
+        HistoryCursor cursor = query.getCursor() == null || query.getCursor().isBlank()
+                ? null
+                : HistoryCursor.decode(query.getCursor(), query);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT(*)
+        List<Transaction> rows = transactionRepository.findHistoryPage(
+                query.getAccountId(),
+                query.getFrom(),
+                query.getTo(),
+                query.getType(),
+                query.getMinAmount(),
+                query.getMaxAmount(),
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null,
+                PageRequest.of(0, limit + 1));
+
+        boolean hasMore = rows.size() > limit;
+        List<Transaction> page = hasMore ? rows.subList(0, limit) : rows;
+
+        List<TransactionResponse> items = page.stream()
                 .map(TransactionResponse::fromEntity)
                 .collect(Collectors.toList());
+        String nextCursor = hasMore ? HistoryCursor.of(page.get(page.size() - 1), query).encode() : null;
+
+        return new TransactionPage(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStatement(TransactionHistoryQuery query, StatementFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == StatementFormat.CSV) {
+            writer.write("id,accountId,createdAt,type,amount,currency,description\n");
+        }
+
+        int written = 0;
+        try (Stream<Transaction> rows = transactionRepository.streamStatement(
+                query.getAccountId(), query.getFrom(), query.getTo())) {
+            Iterator<Transaction> it = rows.iterator();
+            while (it.hasNext()) {
+                Transaction tx = it.next();
+                if (format == StatementFormat.CSV) {
+                    writeCsvRow(writer, tx);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(TransactionResponse.fromEntity(tx)));
+                    writer.write('\n');
+                }
+                // Keep the persistence context from accumulating every row of the statement
+                entityManager.detach(tx);
+
+                if (++written % EXPORT_FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} statement rows for account {} as {}", written, query.getAccountId(), format);
+    }
+
+    private static void writeCsvRow(Writer writer, Transaction tx) throws IOException {
+        writer.write(String.valueOf(tx.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(tx.getAccountId()));
+        writer.write(',');
+        writer.write(String.valueOf(tx.getCreatedAt()));
+        writer.write(',');
+        writer.write(tx.getType() != null ? tx.getType().name() : "");
+        writer.write(',');
+        writer.write(tx.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(tx.getCurrency()));
+        writer.write(',');
+        writer.write(csvField(tx.getDescription()));
+        writer.write('\n');
+    }
+
+    // Client-supplied text; a leading ' stops spreadsheets from running it as a formula
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void validateHistoryQuery(TransactionHistoryQuery query) {
+        if (query.getLimit() != null && (query.getLimit() < 1 || query.getLimit() > MAX_PAGE_SIZE)) {
+            throw new TransactionException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (query.getFrom() != null && query.getTo() != null && !query.getFrom().isBefore(query.getTo())) {
+            throw new TransactionException("'from' must be before 'to'");
+        }
+        if (query.getMinAmount() != null && query.getMaxAmount() != null
+                && query.getMinAmount().compareTo(query.getMaxAmount()) > 0) {
+            throw new TransactionException("minAmount cannot be greater than maxAmount");
+        }
     }
 }
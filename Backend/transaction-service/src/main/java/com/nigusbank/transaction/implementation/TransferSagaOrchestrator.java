@@ -0,0 +1,310 @@
+package com.nigusbank.transaction.implementation;
+
+import com.nigusbank.transaction.client.AccountServiceClient;
+import com.nigusbank.transaction.dto.TransferRequest;
+import com.nigusbank.transaction.entity.Transaction;
+import com.nigusbank.transaction.entity.TransferSaga;
+import com.nigusbank.transaction.exception.DownstreamSaturatedException;
+import com.nigusbank.transaction.exception.TransactionException;
+import com.nigusbank.transaction.repository.TransactionBatchWriter;
+import com.nigusbank.transaction.repository.TransferSagaRepository;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs a transfer as a persisted state machine. The saga row is committed before each
+ * account-service call, so after a crash the recovery worker finds it in the state whose
+ * call may or may not have happened and repeats that call:
+ * <ul>
+ *   <li>PENDING: debit the source. A rejection (4xx or a local error) fails the saga; a
+ *       transient failure (5xx, I/O) is retried with backoff for as long as it takes, since
+ *       giving up could strand a debit that did land.</li>
+ *   <li>DEBITED: credit the destination, then write both ledger legs and CREDITED in one
+ *       local transaction. A rejection starts compensation; a transient failure is retried,
+ *       never compensated, because the credit may have landed.</li>
+ *   <li>COMPENSATING: credit the source back, then FAILED. Retried until it succeeds.</li>
+ * </ul>
+ * Each step sends its own operation key ({@code transfer-<id>-debit}, {@code -credit},
+ * {@code -compensate}) and account-service applies a key once, so repeating a call that did
+ * land is a no-op. A step still failing after {@code max-attempts} is logged for manual
+ * attention but keeps retrying. No database connection is held during a remote call.
+ */
+@Component
+public class TransferSagaOrchestrator {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferSagaOrchestrator.class);
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private final TransferSagaRepository sagaRepository;
+    private final AccountServiceClient accountClient;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+
+    public TransferSagaOrchestrator(TransferSagaRepository sagaRepository,
+                                    AccountServiceClient accountClient,
+                                    TransactionBatchWriter transactionBatchWriter,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("transferSagaExecutor") ExecutorService executor,
+                                    @Value("${app.transactions.saga.max-attempts:5}") int maxAttempts,
+                                    @Value("${app.transactions.saga.lease-seconds:60}") long leaseSeconds) {
+        this.sagaRepository = sagaRepository;
+        this.accountClient = accountClient;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Persists a new PENDING saga. It is leased to the caller for {@code lease-seconds}; if it
+     * is not driven to a terminal state by then, the recovery worker takes over.
+     */
+    public TransferSaga start(TransferRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        TransferSaga saga = TransferSaga.builder()
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .currency(request.getCurrency())
+                .description(request.getDescription() != null ? request.getDescription() : "Transfer")
+                .status(TransferSaga.Status.PENDING)
+                .nextAttemptAt(now.plusSeconds(leaseSeconds))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        return sagaRepository.save(saga);
+    }
+
+    public void runAsync(Long sagaId) {
+        executor.execute(() -> {
+            try {
+                run(sagaId);
+            } catch (RuntimeException e) {
+                // The saga keeps its lease and is picked up again by the recovery worker
+                log.error("Transfer saga {} stopped unexpectedly: {}", sagaId, e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Advances the saga until it is CREDITED or FAILED, or a step fails transiently and has
+     * been scheduled for retry.
+     *
+     * @return the last persisted state
+     */
+    public TransferSaga run(Long sagaId) {
+        return run(sagaId, null);
+    }
+
+    /**
+     * Like {@link #run(Long)}, except that a saga whose credit lands is not completed here: it is
+     * added to {@code credited}, still DEBITED, for the caller to finish with {@link #completeAll}.
+     * Should that never happen, recovery repeats the credit under the same key, which
+     * account-service applies once, and completes the saga itself.
+     */
+    public TransferSaga run(Long sagaId, List<TransferSaga> credited) {
+        TransferSaga saga = find(sagaId);
+        try {
+            while (!saga.getStatus().isTerminal()) {
+                TransferSaga.Status before = saga.getStatus();
+                saga = step(saga, credited);
+                if (saga.getStatus() == before) {
+                    break;
+                }
+            }
+            return saga;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Our lease ran out and another worker claimed the saga; it owns it from here
+            log.warn("Transfer saga {} was taken over by another worker", sagaId);
+            return find(sagaId);
+        }
+    }
+
+    public TransferSaga find(Long sagaId) {
+        return sagaRepository.findById(sagaId)
+                .orElseThrow(() -> new TransactionException("Transfer not found: " + sagaId));
+    }
+
+    private TransferSaga step(TransferSaga saga, List<TransferSaga> credited) {
+        Long from = saga.getFromAccountId();
+        Long to = saga.getToAccountId();
+        String ref = " [transfer " + saga.getId() + "]";
+        String key = "transfer-" + saga.getId();
+
+        switch (saga.getStatus()) {
+            case PENDING -> {
+                try {
+                    accountClient.debit(from, saga.getAmount(), "Transfer to " + to + " - " + saga.getDescription() + ref,
+                            key + "-debit");
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        return retryLater(saga, e);
+                    }
+                    return moveTo(saga, TransferSaga.Status.FAILED, e.getMessage());
+                }
+                return moveTo(saga, TransferSaga.Status.DEBITED, null);
+            }
+            case DEBITED -> {
+                try {
+                    accountClient.credit(to, saga.getAmount(), "Transfer from " + from + " - " + saga.getDescription() + ref,
+                            key + "-credit");
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        if (saga.getAttempts() + 1 >= maxAttempts) {
+                            log.error("Credit for transfer {} has failed {} times; the source account {} is debited by {} "
+                                    + "and the credit is still being retried.", saga.getId(), saga.getAttempts() + 1, from, saga.getAmount());
+                        }
+                        return retryLater(saga, e);
+                    }
+                    log.error("Credit to destination failed after debit. Compensating (credit back) - transfer={}, from={}, to={}, amount={}",
+                            saga.getId(), from, to, saga.getAmount());
+                    return moveTo(saga, TransferSaga.Status.COMPENSATING,
+                            "Failed to credit destination account: " + e.getMessage());
+                }
+                if (credited != null) {
+                    credited.add(saga);
+                    return saga;
+                }
+                return complete(saga);
+            }
+            case COMPENSATING -> {
+                try {
+                    accountClient.credit(from, saga.getAmount(), "Compensation for failed transfer to " + to + " - " + saga.getDescription() + ref,
+                            key + "-compensate");
+                } catch (RuntimeException e) {
+                    if (saga.getAttempts() + 1 >= maxAttempts) {
+                        log.error("Compensation for transfer {} has failed {} times; the source account {} is still debited by {}. "
+                                + "Manual intervention may be required.", saga.getId(), saga.getAttempts() + 1, from, saga.getAmount());
+                    }
+                    return retryLater(saga, e);
+                }
+                return moveTo(saga, TransferSaga.Status.FAILED, saga.getFailureReason());
+            }
+            default -> throw new IllegalStateException("Transfer " + saga.getId() + " is already " + saga.getStatus());
+        }
+    }
+
+    // Ledger legs and the CREDITED state commit together, so a completed transfer always has its rows
+    private TransferSaga complete(TransferSaga saga) {
+        return transactionTemplate.execute(status -> {
+            transactionBatchWriter.insertAll(transferLegs(saga));
+            return moveTo(saga, TransferSaga.Status.CREDITED, null);
+        });
+    }
+
+    /**
+     * Completes sagas whose credit has landed: their ledger legs go through one
+     * {@link TransactionBatchWriter#insertAll} call, committed with their CREDITED states. If
+     * that fails, for example because recovery took over one of them, each is completed on its own;
+     * one that still fails is left DEBITED for recovery to complete.
+     *
+     * @return the persisted state of each saga, in order
+     */
+    public List<TransferSaga> completeAll(List<TransferSaga> sagas) {
+        if (sagas.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                transactionBatchWriter.insertAll(sagas.stream().flatMap(saga -> transferLegs(saga).stream()).toList());
+                return sagas.stream().map(saga -> moveTo(saga, TransferSaga.Status.CREDITED, null)).toList();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Completing {} transfers together failed, completing each on its own: {}", sagas.size(), e.getMessage());
+            List<TransferSaga> completed = new ArrayList<>(sagas.size());
+            for (TransferSaga saga : sagas) {
+                try {
+                    completed.add(complete(saga));
+                } catch (RuntimeException failed) {
+                    // Recovery repeats the credit under the same key and completes it, or another worker already owns it
+                    log.warn("Completing transfer {} failed, leaving it to recovery: {}", saga.getId(), failed.getMessage());
+                    completed.add(persistedState(saga));
+                }
+            }
+            return completed;
+        }
+    }
+
+    // moveTo has already set CREDITED on the object, so ask the database what actually committed
+    private TransferSaga persistedState(TransferSaga saga) {
+        try {
+            return find(saga.getId());
+        } catch (RuntimeException e) {
+            saga.setStatus(TransferSaga.Status.DEBITED);
+            return saga;
+        }
+    }
+
+    private TransferSaga moveTo(TransferSaga saga, TransferSaga.Status status, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        saga.setStatus(status);
+        saga.setAttempts(0);
+        saga.setFailureReason(truncate(reason));
+        saga.setNextAttemptAt(status.isTerminal() ? null : now.plusSeconds(leaseSeconds));
+        saga.setUpdatedAt(now);
+        return sagaRepository.save(saga);
+    }
+
+    private TransferSaga retryLater(TransferSaga saga, RuntimeException e) {
+        int attempts = saga.getAttempts() + 1;
+        long backoff = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 20));
+        log.warn("Transfer {} step {} failed (attempt {}), retrying in {}s: {}",
+                saga.getId(), saga.getStatus(), attempts, backoff, e.getMessage());
+
+        LocalDateTime now = LocalDateTime.now();
+        saga.setAttempts(attempts);
+        saga.setFailureReason(truncate(e.getMessage()));
+        saga.setNextAttemptAt(now.plusSeconds(backoff));
+        saga.setUpdatedAt(now);
+        return sagaRepository.save(saga);
+    }
+
+    // No response, or a 5xx: the call may or may not have been applied, so it is repeated with the same key rather than abandoned.
+    // A saturated limiter never sent the call, which is just as safe to repeat.
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof DownstreamSaturatedException
+                || e instanceof FeignException fe && (fe.status() < 0 || fe.status() >= 500);
+    }
+
+    private static String truncate(String reason) {
+        return reason == null || reason.length() <= MAX_REASON_LENGTH ? reason : reason.substring(0, MAX_REASON_LENGTH);
+    }
+
+    private static List<Transaction> transferLegs(TransferSaga saga) {
+        Long from = saga.getFromAccountId();
+        Long to = saga.getToAccountId();
+
+        Transaction out = new Transaction();
+        out.setAccountId(from);
+        out.setAmount(saga.getAmount().negate());
+        out.setType(Transaction.TransactionType.TRANSFER_OUT);
+        out.setCurrency(saga.getCurrency());
+        out.setDescription(saga.getDescription() + " -> " + to);
+
+        Transaction in = new Transaction();
+        in.setAccountId(to);
+        in.setAmount(saga.getAmount());
+        in.setType(Transaction.TransactionType.TRANSFER_IN);
+        in.setCurrency(saga.getCurrency());
+        in.setDescription(saga.getDescription() + " <- " + from);
+
+        return List.of(out, in);
+    }
+}
@@ -0,0 +1,87 @@
+package com.nigusbank.transaction.implementation;
+
+import com.nigusbank.transaction.repository.TransferSagaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Resumes transfer sagas whose lease or retry backoff has expired: those left behind by a
+ * crashed or restarted instance, and those waiting to retry a transient failure. Due sagas
+ * are claimed one by one with a compare-and-set on next_attempt_at, then run in parallel on
+ * the saga executor; a run waits for its batch before fetching the next.
+ */
+@Component
+public class TransferSagaRecoveryWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferSagaRecoveryWorker.class);
+
+    private final TransferSagaRepository sagaRepository;
+    private final TransferSagaOrchestrator orchestrator;
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long leaseSeconds;
+
+    public TransferSagaRecoveryWorker(TransferSagaRepository sagaRepository,
+                                      TransferSagaOrchestrator orchestrator,
+                                      @Qualifier("transferSagaExecutor") ExecutorService executor,
+                                      @Value("${app.transactions.saga.recovery.enabled:true}") boolean enabled,
+                                      @Value("${app.transactions.saga.recovery.batch-size:100}") int batchSize,
+                                      @Value("${app.transactions.saga.lease-seconds:60}") long leaseSeconds) {
+        this.sagaRepository = sagaRepository;
+        this.orchestrator = orchestrator;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.transactions.saga.recovery.interval-ms:5000}")
+    void scheduledRecovery() {
+        if (enabled) {
+            recoverDue();
+        }
+    }
+
+    /**
+     * @return number of sagas this run claimed and advanced
+     */
+    public int recoverDue() {
+        int total = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> due = sagaRepository.findDue(now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return total;
+            }
+
+            List<CompletableFuture<Void>> runs = new ArrayList<>(due.size());
+            for (Long id : due) {
+                if (sagaRepository.claim(id, now, now.plusSeconds(leaseSeconds)) == 1) {
+                    runs.add(CompletableFuture.runAsync(() -> orchestrator.run(id), executor)
+                            .exceptionally(e -> {
+                                log.error("Recovery of transfer saga {} failed: {}", id, e.getMessage(), e);
+                                return null;
+                            }));
+                }
+            }
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).join();
+            total += runs.size();
+
+            if (due.size() < batchSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.nigusbank.transaction.repository;
+
+import com.nigusbank.transaction.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain INSERT (not save/merge) so a second claim on the same key fails on the primary key
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, operation, request_hash, status, created_at)
+            VALUES (:key, :operation, :requestHash, 'IN_PROGRESS', :createdAt)
+            """, nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("operation") String operation,
+              @Param("requestHash") String requestHash,
+              @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.status = :status,
+                r.responseBody = :responseBody,
+                r.completedAt = :completedAt
+            WHERE r.idempotencyKey = :key
+            """)
+    int complete(@Param("key") String key,
+                 @Param("status") IdempotencyRecord.Status status,
+                 @Param("responseBody") String responseBody,
+                 @Param("completedAt") LocalDateTime completedAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.status = :to,
+                r.completedAt = :now
+            WHERE r.status = :from
+              AND r.createdAt < :claimedBefore
+            """)
+    int updateStatusClaimedBefore(@Param("from") IdempotencyRecord.Status from,
+                                  @Param("to") IdempotencyRecord.Status to,
+                                  @Param("claimedBefore") LocalDateTime claimedBefore,
+                                  @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
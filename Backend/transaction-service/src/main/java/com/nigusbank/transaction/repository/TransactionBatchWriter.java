@@ -0,0 +1,65 @@
+package com.nigusbank.transaction.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigusbank.transaction.dto.TransactionResponse;
+import com.nigusbank.transaction.entity.OutboxEvent;
+import com.nigusbank.transaction.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The single write path for transaction rows. Each row is persisted together with a
+ * LEDGER_ENTRY_RECORDED outbox event in one local transaction, so an entry and its
+ * notification are committed or lost together; OutboxRelay publishes the events afterwards.
+ * Callers make their account-service calls before invoking this, so no connection is held
+ * across a remote round-trip.
+ * <p>
+ * Ids come from the pooled table generator, so Hibernate groups the INSERTs into JDBC batches
+ * of {@code hibernate.jdbc.batch_size}; with rewriteBatchedStatements=true MySQL receives each
+ * batch as a single multi-row INSERT. The persistence context is flushed and cleared per batch
+ * so it never holds the whole list.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionBatchWriter {
+
+    static final int BATCH_SIZE = 50;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void insertAll(List<Transaction> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows.size(); i++) {
+            Transaction row = rows.get(i);
+            entityManager.persist(row);
+            entityManager.persist(ledgerEntryRecorded(row, now));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private OutboxEvent ledgerEntryRecorded(Transaction row, LocalDateTime now) {
+        try {
+            return OutboxEvent.builder()
+                    .eventType(OutboxEvent.LEDGER_ENTRY_RECORDED)
+                    .aggregateId(row.getAccountId())
+                    .payload(objectMapper.writeValueAsString(TransactionResponse.fromEntity(row)))
+                    .createdAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize ledger event for transaction " + row.getId(), e);
+        }
+    }
+}
@@ -1,10 +1,70 @@
 package com.nigusbank.transaction.repository;
 
 import com.nigusbank.transaction.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByAccountId(Long accountId);
-}
\ No newline at end of file
+
+    /**
+     * Keyset page of an account's history, newest first. Rows strictly after the
+     * (cursorCreatedAt, cursorId) position are returned, so page N costs the same as page 1.
+     * Callers size the page through {@code pageable}; returning a List skips the count query.
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.accountId = :accountId
+              AND (:from IS NULL OR t.createdAt >= :from)
+              AND (:to IS NULL OR t.createdAt < :to)
+              AND (:type IS NULL OR t.type = :type)
+              AND (:minAmount IS NULL OR ABS(t.amount) >= :minAmount)
+              AND (:maxAmount IS NULL OR ABS(t.amount) <= :maxAmount)
+              AND (:cursorCreatedAt IS NULL
+                   OR t.createdAt < :cursorCreatedAt
+                   OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Transaction> findHistoryPage(@Param("accountId") Long accountId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("type") Transaction.TransactionType type,
+                                      @Param("minAmount") BigDecimal minAmount,
+                                      @Param("maxAmount") BigDecimal maxAmount,
+                                      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+
+    /**
+     * Statement rows in chronological order, read through a JDBC cursor instead of being
+     * materialised as a List. Must be consumed inside a read-only transaction and closed
+     * by the caller; with {@code useCursorFetch=true} MySQL ships {@code HINT_FETCH_SIZE}
+     * rows per round-trip.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.accountId = :accountId
+              AND (:from IS NULL OR t.createdAt >= :from)
+              AND (:to IS NULL OR t.createdAt < :to)
+            ORDER BY t.createdAt ASC, t.id ASC
+            """)
+    Stream<Transaction> streamStatement(@Param("accountId") Long accountId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,34 @@
+package com.nigusbank.transaction.repository;
+
+import com.nigusbank.transaction.entity.TransferSaga;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransferSagaRepository extends JpaRepository<TransferSaga, Long> {
+
+    @Query("""
+            SELECT s.id FROM TransferSaga s
+            WHERE s.nextAttemptAt <= :now
+            ORDER BY s.nextAttemptAt
+            """)
+    List<Long> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Compare-and-set on the due time: of several workers that saw the same row, exactly one claims it
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TransferSaga s
+            SET s.nextAttemptAt = :leaseUntil, s.version = s.version + 1
+            WHERE s.id = :id AND s.nextAttemptAt <= :now
+            """)
+    int claim(@Param("id") Long id,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+}
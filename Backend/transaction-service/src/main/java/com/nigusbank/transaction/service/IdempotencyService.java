@@ -0,0 +1,14 @@
+package com.nigusbank.transaction.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * Runs {@code action} at most once per key. A repeated key with the same request returns the
+     * stored response without running the action again; a blank key runs the action unconditionally.
+     */
+    <T> T execute(String key, String operation, Object request, Class<T> responseType, Supplier<T> action);
+}
@@ -2,15 +2,22 @@ package com.nigusbank.transaction.service;
 
 import com.nigusbank.transaction.dto.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface TransactionService {
 
-    TransactionResponse deposit(DepositRequest request);
+    TransactionResponse deposit(DepositRequest request, String idempotencyKey);
 
-    TransactionResponse withdraw(WithdrawRequest request);
+    TransactionResponse withdraw(WithdrawRequest request, String idempotencyKey);
 
-    void transfer(TransferRequest request);
+    TransferStatusResponse transfer(TransferRequest request);
 
-    List<TransactionResponse> getHistory(Long accountId);
+    TransferStatusResponse getTransfer(Long transferId);
+
+    BatchTransferResponse transferBatch(BatchTransferRequest request);
+
+    TransactionPage getHistory(TransactionHistoryQuery query);
+
+    void exportStatement(TransactionHistoryQuery query, StatementFormat format, OutputStream out) throws IOException;
 }
\ No newline at end of file
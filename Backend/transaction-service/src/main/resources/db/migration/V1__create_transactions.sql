@@ -0,0 +1,13 @@
+-- Baseline: the transactions table exactly as Hibernate's ddl-auto created it.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this script only runs against an empty schema.
+CREATE TABLE IF NOT EXISTS transactions (
+    id          BIGINT         NOT NULL AUTO_INCREMENT,
+    account_id  BIGINT         NOT NULL,
+    amount      DECIMAL(19, 2) NOT NULL,
+    type        ENUM ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER_OUT', 'TRANSFER_IN') NOT NULL,
+    currency    VARCHAR(3)     NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Serves the keyset history page and the statement export for one account:
+-- WHERE account_id = ? ORDER BY created_at DESC, id DESC (export scans it backwards).
+CREATE INDEX idx_transactions_account_created ON transactions (account_id, created_at DESC, id DESC);
+
+-- Serves type-filtered reporting across accounts within a date window.
+CREATE INDEX idx_transactions_type_created ON transactions (type, created_at);
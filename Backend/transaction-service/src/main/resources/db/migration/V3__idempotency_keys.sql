@@ -0,0 +1,12 @@
+-- One row per client-supplied Idempotency-Key. The primary key is what makes
+-- concurrent retries of the same request race safely: only one insert can win.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) NOT NULL,
+    operation       VARCHAR(20)  NOT NULL,
+    request_hash    CHAR(64)     NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    response_body   TEXT,
+    created_at      DATETIME(6)  NOT NULL,
+    completed_at    DATETIME(6),
+    PRIMARY KEY (idempotency_key)
+) ENGINE = InnoDB;
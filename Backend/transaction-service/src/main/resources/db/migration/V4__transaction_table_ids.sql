@@ -0,0 +1,13 @@
+-- Transaction ids move from AUTO_INCREMENT to a pooled table generator: Hibernate reserves
+-- 50 ids per round-trip to id_generators, which lets it batch inserts (IDENTITY cannot).
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_val      BIGINT      NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+-- The pooled optimizer hands out (next_val - 49 .. next_val), so start one block past existing ids
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'transactions', COALESCE(MAX(id), 0) + 51 FROM transactions;
+
+ALTER TABLE transactions MODIFY id BIGINT NOT NULL;
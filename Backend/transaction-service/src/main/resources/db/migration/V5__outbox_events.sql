@@ -0,0 +1,17 @@
+-- Ledger events written in the same local transaction as the transactions rows they describe,
+-- then drained by OutboxRelay. Unpublished rows are found through (published_at, id), so the
+-- relay's scan stays on the index however much published history is retained.
+CREATE TABLE outbox_events (
+    id           BIGINT       NOT NULL,
+    event_type   VARCHAR(50)  NOT NULL,
+    aggregate_id BIGINT       NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   DATETIME(6)  NOT NULL,
+    published_at DATETIME(6),
+    attempts     INT          NOT NULL DEFAULT 0,
+    last_error   VARCHAR(500),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_events_pending (published_at, id)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('outbox_events', 51);
@@ -0,0 +1,23 @@
+-- Persistent state of each transfer, written before every account-service call so a crash
+-- between the debit and the credit leaves a row the recovery worker can resume or compensate.
+-- next_attempt_at is NULL once a saga is CREDITED or FAILED, so the recovery scan only
+-- touches in-flight rows.
+CREATE TABLE transfer_sagas (
+    id              BIGINT         NOT NULL,
+    from_account_id BIGINT         NOT NULL,
+    to_account_id   BIGINT         NOT NULL,
+    amount          DECIMAL(19, 2) NOT NULL,
+    currency        VARCHAR(3)     NOT NULL,
+    description     VARCHAR(255),
+    status          VARCHAR(20)    NOT NULL,
+    failure_reason  VARCHAR(500),
+    attempts        INT            NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6),
+    created_at      DATETIME(6)    NOT NULL,
+    updated_at      DATETIME(6)    NOT NULL,
+    version         BIGINT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    INDEX idx_transfer_sagas_next_attempt (next_attempt_at)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('transfer_sagas', 51);
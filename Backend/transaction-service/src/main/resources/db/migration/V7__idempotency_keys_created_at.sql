@@ -0,0 +1,2 @@
+-- The nightly purge deletes keys by age, and expired IN_PROGRESS claims are found the same way.
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
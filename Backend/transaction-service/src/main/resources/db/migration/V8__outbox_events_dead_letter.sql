@@ -0,0 +1,4 @@
+-- An event the sink keeps rejecting while others get through is parked here after
+-- app.outbox.relay.max-attempts, so it no longer blocks the events behind it. Parked rows are
+-- kept by the purge for inspection; clearing dead_lettered_at queues one again.
+ALTER TABLE outbox_events ADD COLUMN dead_lettered_at DATETIME(6);
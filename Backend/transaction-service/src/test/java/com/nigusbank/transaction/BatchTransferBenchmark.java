@@ -0,0 +1,75 @@
+package com.nigusbank.transaction;
+
+import com.nigusbank.transaction.client.AccountServiceClient;
+import com.nigusbank.transaction.dto.BatchTransferRequest;
+import com.nigusbank.transaction.dto.TransferRequest;
+import com.nigusbank.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Sequential /transfer calls versus one /transfers/batch call, with account-service replaced by
+ * a stub that sleeps for a fixed round-trip time. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=BatchTransferBenchmark -Dbench.transfers=2000 -Dbench.latency-ms=5
+ * </pre>
+ */
+// Sequential transfers must wait for completion, not return at 202
+@SpringBootTest(properties = "app.transactions.transfer.async=false")
+@EnabledIfSystemProperty(named = "bench.transfers", matches = "\\d+")
+class BatchTransferBenchmark {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @MockBean
+    private AccountServiceClient accountServiceClient;
+
+    @Test
+    void batchVersusSequentialThroughput() {
+        int count = Integer.parseInt(System.getProperty("bench.transfers"));
+        long latencyMs = Long.parseLong(System.getProperty("bench.latency-ms", "5"));
+
+        Answer<Void> remoteCall = invocation -> {
+            Thread.sleep(latencyMs);
+            return null;
+        };
+        doAnswer(remoteCall).when(accountServiceClient).debit(anyLong(), any(BigDecimal.class), any(), any());
+        doAnswer(remoteCall).when(accountServiceClient).credit(anyLong(), any(BigDecimal.class), any(), any());
+
+        List<TransferRequest> transfers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Payroll shape: a handful of funding accounts paying many employees
+            transfers.add(TransferRequest.builder()
+                    .fromAccountId(1L + i % 64)
+                    .toAccountId(10_000L + i)
+                    .amount(new BigDecimal("100.00"))
+                    .description("payroll")
+                    .build());
+        }
+
+        long start = System.nanoTime();
+        transfers.forEach(transactionService::transfer);
+        double sequentialSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        transactionService.transferBatch(new BatchTransferRequest(transfers));
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("[bench] %d transfers, %dms per remote call: sequential %.0f/s, batch %.0f/s (%.1fx)%n",
+                count, latencyMs, count / sequentialSeconds, count / batchSeconds, sequentialSeconds / batchSeconds);
+    }
+}
@@ -0,0 +1,141 @@
+package com.nigusbank.transaction;
+
+import com.nigusbank.transaction.dto.TransactionHistoryQuery;
+import com.nigusbank.transaction.dto.TransactionPage;
+import com.nigusbank.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * History query latency with and without the V2 composite index, against the configured MySQL.
+ * Opt-in because it seeds millions of rows and rewrites the transactions table:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=HistoryQueryBenchmark -Dbench.rows=1000000
+ * ./mvnw test -Dtest=HistoryQueryBenchmark -Dbench.rows=10000000
+ * </pre>
+ *
+ * Rows are spread over {@code bench.accounts} accounts (default 1000), so the hot account
+ * holds about rows/accounts entries. Both the first page and a page deep in the history are timed.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.rows", matches = "\\d+")
+class HistoryQueryBenchmark {
+
+    private static final String INDEX = "idx_transactions_account_created";
+    private static final int WARMUP = 20;
+    private static final int SAMPLES = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void historyLatencyBeforeAndAfterIndex() {
+        long rows = Long.parseLong(System.getProperty("bench.rows"));
+        int accounts = Integer.parseInt(System.getProperty("bench.accounts", "1000"));
+        seed(rows, accounts);
+
+        long hotAccount = jdbcTemplate.queryForObject(
+                "SELECT account_id FROM transactions GROUP BY account_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+
+        try {
+            jdbcTemplate.execute("ALTER TABLE transactions DROP INDEX " + INDEX);
+            report("without index", rows, hotAccount);
+        } finally {
+            jdbcTemplate.execute("CREATE INDEX " + INDEX + " ON transactions (account_id, created_at DESC, id DESC)");
+        }
+        report("with index", rows, hotAccount);
+    }
+
+    private void seed(long rows, int accounts) {
+        jdbcTemplate.execute("TRUNCATE TABLE transactions");
+
+        // A small random batch, then doubled in-database until the target size is reached
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            batch.add(new Object[]{
+                    i + 1L,
+                    r.nextLong(1, accounts + 1),
+                    BigDecimal.valueOf(r.nextLong(1, 500_000), 2),
+                    r.nextBoolean() ? "DEPOSIT" : "WITHDRAWAL",
+                    Timestamp.valueOf(now.minusMinutes(r.nextLong(0, 525_600)))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, account_id, amount, type, currency, description, created_at) "
+                        + "VALUES (?, ?, ?, ?, 'ETB', 'bench', ?)", batch);
+
+        long count = 1000;
+        while (count < rows) {
+            long chunk = Math.min(count, rows - count);
+            // ids 1..count exist, so shifting by count keeps the copies unique
+            jdbcTemplate.update(
+                    "INSERT INTO transactions (id, account_id, amount, type, currency, description, created_at) "
+                            + "SELECT id + ?, FLOOR(1 + RAND() * ?), amount, type, currency, description, "
+                            + "created_at - INTERVAL FLOOR(RAND() * 525600) MINUTE FROM transactions "
+                            + "WHERE id <= ?",
+                    count, accounts, chunk);
+            count += chunk;
+        }
+        // Move the id generator past the seeded rows
+        jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = 'transactions'", count + 51);
+        jdbcTemplate.execute("ANALYZE TABLE transactions");
+    }
+
+    private void report(String label, long rows, long accountId) {
+        long[] firstPage = time(accountId, null);
+
+        // Walk ten pages in to get a cursor that sits well inside the account's history
+        String cursor = null;
+        for (int i = 0; i < 10; i++) {
+            TransactionPage page = transactionService.getHistory(query(accountId, cursor));
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            cursor = page.getNextCursor();
+        }
+        long[] deepPage = time(accountId, cursor);
+
+        System.out.printf("[bench] rows=%d %-13s first page p50=%.2fms p99=%.2fms | page 10 p50=%.2fms p99=%.2fms%n",
+                rows, label,
+                millis(firstPage, 0.50), millis(firstPage, 0.99),
+                millis(deepPage, 0.50), millis(deepPage, 0.99));
+    }
+
+    private long[] time(long accountId, String cursor) {
+        for (int i = 0; i < WARMUP; i++) {
+            transactionService.getHistory(query(accountId, cursor));
+        }
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            transactionService.getHistory(query(accountId, cursor));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static TransactionHistoryQuery query(long accountId, String cursor) {
+        return TransactionHistoryQuery.builder().accountId(accountId).cursor(cursor).build();
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.nigusbank.transaction;
+
+import com.nigusbank.transaction.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction inserts per second at JDBC batch sizes 1, 50 and 500, using the same pooled id
+ * generator as production. Opt-in, and it writes to the configured database:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=InsertBatchingBenchmark -Dbench.inserts=50000
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.inserts", matches = "\\d+")
+class InsertBatchingBenchmark {
+
+    private static final int[] BATCH_SIZES = {1, 50, 500};
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertsPerSecondByBatchSize() {
+        int inserts = Integer.parseInt(System.getProperty("bench.inserts"));
+
+        insert(Math.min(inserts, 5_000), 50);   // warm-up
+        for (int batchSize : BATCH_SIZES) {
+            long start = System.nanoTime();
+            insert(inserts, batchSize);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("[bench] batch_size=%-4d %,d inserts in %.2fs = %,.0f inserts/s%n",
+                    batchSize, inserts, seconds, inserts / seconds);
+        }
+    }
+
+    private void insert(int count, int batchSize) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            em.getTransaction().begin();
+            for (int i = 0; i < count; i++) {
+                Transaction tx = new Transaction();
+                tx.setAccountId(900_000L + i % 100);
+                tx.setAmount(new BigDecimal("1.00"));
+                tx.setType(Transaction.TransactionType.DEPOSIT);
+                tx.setDescription("insert benchmark");
+                em.persist(tx);
+                if ((i + 1) % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+}
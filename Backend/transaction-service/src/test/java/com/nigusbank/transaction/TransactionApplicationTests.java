@@ -3,7 +3,7 @@ package com.nigusbank.transaction;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"app.outbox.relay.enabled=false", "app.transactions.saga.recovery.enabled=false"})
 class TransactionApplicationTests {
 
     @Test
@@ -1,32 +1,79 @@
 package com.nigusbank.transaction;
 
+import com.nigusbank.transaction.dto.AccountBulkRequest;
+import com.nigusbank.transaction.dto.BatchTransferRequest;
+import com.nigusbank.transaction.dto.BatchTransferResponse;
 import com.nigusbank.transaction.dto.DepositRequest;
+import com.nigusbank.transaction.dto.TransactionPage;
+import com.nigusbank.transaction.dto.TransferRequest;
+import com.nigusbank.transaction.dto.WithdrawRequest;
+import com.nigusbank.transaction.repository.IdempotencyRecordRepository;
+import com.nigusbank.transaction.repository.OutboxEventRepository;
+import com.nigusbank.transaction.repository.TransactionBatchWriter;
+import com.nigusbank.transaction.implementation.OutboxRelay;
+import com.nigusbank.transaction.entity.IdempotencyRecord;
+import com.nigusbank.transaction.implementation.IdempotencyServiceImpl;
+import com.nigusbank.transaction.implementation.TransferSagaOrchestrator;
+import com.nigusbank.transaction.implementation.TransferSagaRecoveryWorker;
+import com.nigusbank.transaction.repository.TransferSagaRepository;
+import com.nigusbank.transaction.entity.TransferSaga;
+import com.nigusbank.transaction.dto.TransferStatusResponse;
+import com.nigusbank.transaction.dto.LedgerEvent;
+import com.nigusbank.transaction.entity.OutboxEvent;
+import com.nigusbank.transaction.client.LedgerEventSink;
 import com.nigusbank.transaction.entity.Transaction;
 import com.nigusbank.transaction.repository.TransactionRepository;
 import com.nigusbank.transaction.client.AccountServiceClient;
+import com.nigusbank.transaction.client.AsyncAccountServiceClient;
+import com.nigusbank.transaction.client.ServiceTokenProvider;
+import com.nigusbank.transaction.dto.AccountSummary;
+import feign.FeignException;
+import feign.Request;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// The relay and saga recovery are driven by hand here; a scheduled run from this or another cached context would race the assertions
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.outbox.relay.enabled=false", "app.transactions.saga.recovery.enabled=false",
+                "app.transactions.transfer.validate-accounts=true", "app.outbox.relay.max-attempts=2"})
 public class TransactionIntegrationTest {
 
     @LocalServerPort
@@ -38,12 +85,48 @@ public class TransactionIntegrationTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotencyServiceImpl idempotencyService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TransferSagaRepository transferSagaRepository;
+
+    @Autowired
+    private TransferSagaRecoveryWorker transferSagaRecoveryWorker;
+
+    @Autowired
+    private TransferSagaOrchestrator transferSagaOrchestrator;
+
+    @Autowired
+    private ServiceTokenProvider serviceTokenProvider;
+
     @MockBean
     private AccountServiceClient accountServiceClient;
 
+    @MockBean
+    private LedgerEventSink ledgerEventSink;
+
+    @SpyBean
+    private AsyncAccountServiceClient asyncAccountServiceClient;
+
+    @SpyBean
+    private TransactionBatchWriter transactionBatchWriter;
+
     @BeforeEach
     void setUp() {
         transactionRepository.deleteAll();
+        idempotencyRecordRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        transferSagaRepository.deleteAll();
     }
 
     @Test
@@ -59,7 +142,7 @@ public class TransactionIntegrationTest {
                 .build();
 
         // Mock Feign client to do nothing (successful remote call)
-        doNothing().when(accountServiceClient).credit(eq(accountId), any(BigDecimal.class), any(String.class));
+        doNothing().when(accountServiceClient).credit(eq(accountId), any(BigDecimal.class), any(String.class), any());
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -83,8 +166,462 @@ public class TransactionIntegrationTest {
         // verify that accountServiceClient.credit was called with expected args
         ArgumentCaptor<BigDecimal> amtCap = ArgumentCaptor.forClass(BigDecimal.class);
         ArgumentCaptor<String> descCap = ArgumentCaptor.forClass(String.class);
-        verify(accountServiceClient).credit(eq(accountId), amtCap.capture(), descCap.capture());
+        verify(accountServiceClient).credit(eq(accountId), amtCap.capture(), descCap.capture(), any());
         assertThat(amtCap.getValue()).isEqualTo(amount);
         assertThat(descCap.getValue()).contains("Integration test deposit");
     }
+
+    @Test
+    void history_shouldWalkAllPagesWithCursor_andApplyServerSideFilters() {
+        long accountId = 7L;
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 5; i++) {
+            Transaction tx = new Transaction();
+            tx.setAccountId(accountId);
+            tx.setAmount(new BigDecimal(i % 2 == 0 ? "50.00" : "-1500.00"));
+            tx.setType(i % 2 == 0 ? Transaction.TransactionType.DEPOSIT : Transaction.TransactionType.WITHDRAWAL);
+            tx.setCurrency("ETB");
+            tx.setCreatedAt(base.plusMinutes(i));
+            transactionRepository.save(tx);
+        }
+
+        String url = "http://localhost:" + port + "/transactions/history?accountId=" + accountId + "&limit=2";
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = restTemplate.getForObject(
+                    cursor == null ? url : url + "&cursor=" + cursor, TransactionPage.class);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(2);
+            page.getItems().forEach(item -> assertThat(seen.add(item.getId())).isTrue());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(5);
+        assertThat(pages).isEqualTo(3);
+
+        TransactionPage large = restTemplate.getForObject(
+                "http://localhost:" + port + "/transactions/history?accountId=" + accountId
+                        + "&type=WITHDRAWAL&minAmount=1000", TransactionPage.class);
+        assertThat(large.getItems()).hasSize(2);
+        assertThat(large.isHasMore()).isFalse();
+
+        // A cursor only continues the query that issued it
+        String first = restTemplate.getForObject(url, TransactionPage.class).getNextCursor();
+        assertThat(restTemplate.getForEntity(url + "&type=DEPOSIT&cursor=" + first, String.class)
+                .getStatusCode().value()).isEqualTo(400);
+        TransactionPage smaller = restTemplate.getForObject(
+                url.replace("limit=2", "limit=1") + "&cursor=" + first, TransactionPage.class);
+        assertThat(smaller.getItems()).hasSize(1);
+    }
+
+    @Test
+    void export_shouldStreamCsvStatementInChronologicalOrder() {
+        long accountId = 9L;
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 8, 0);
+        for (int i = 0; i < 3; i++) {
+            Transaction tx = new Transaction();
+            tx.setAccountId(accountId);
+            tx.setAmount(new BigDecimal("10.00").multiply(BigDecimal.valueOf(i + 1)));
+            tx.setType(Transaction.TransactionType.DEPOSIT);
+            tx.setCurrency("ETB");
+            tx.setDescription(i == 1 ? "Rent, \"March\"" : i == 0 ? "=HYPERLINK(\"http://x\")" : "Deposit " + i);
+            tx.setCreatedAt(base.minusDays(i));
+            transactionRepository.save(tx);
+        }
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/transactions/history/export?accountId=" + accountId + "&format=CSV",
+                String.class);
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("text/csv");
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("id,accountId,createdAt,type,amount,currency,description");
+        assertThat(lines[1]).contains("30.00").endsWith("Deposit 2");
+        assertThat(lines[2]).endsWith("\"Rent, \"\"March\"\"\"");
+        assertThat(lines[3]).endsWith(",\"'=HYPERLINK(\"\"http://x\"\")\"");
+    }
+
+    @Test
+    void transfer_withSameIdempotencyKey_shouldDebitOnlyOnce() {
+        TransferRequest req = TransferRequest.builder()
+                .fromAccountId(1L)
+                .toAccountId(2L)
+                .amount(new BigDecimal("25.00"))
+                .currency("ETB")
+                .description("Retry me")
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", "transfer-retry-1");
+        String url = "http://localhost:" + port + "/transactions/transfer";
+
+        ResponseEntity<TransferStatusResponse> first = restTemplate.postForEntity(url, new HttpEntity<>(req, headers), TransferStatusResponse.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(first.getHeaders().getLocation()).hasPath("/transactions/transfers/" + first.getBody().getTransferId());
+        assertThat(awaitTransfer(first.getBody().getTransferId()).getStatus()).isEqualTo("CREDITED");
+
+        ResponseEntity<TransferStatusResponse> retry = restTemplate.postForEntity(url, new HttpEntity<>(req, headers), TransferStatusResponse.class);
+        assertThat(retry.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(retry.getBody().getTransferId()).isEqualTo(first.getBody().getTransferId());
+        verify(accountServiceClient, times(1)).debit(eq(1L), any(BigDecimal.class), any(String.class), any());
+        assertThat(transactionRepository.findAll()).hasSize(2);
+
+        // Reusing the key for a different payload is rejected rather than replayed
+        req.setAmount(new BigDecimal("99.00"));
+        ResponseEntity<String> reused = restTemplate.postForEntity(url, new HttpEntity<>(req, headers), String.class);
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void deposit_failingWithUnknownOutcome_shouldKeepTheKey_whileARejectionReleasesIt() {
+        Request request = Request.create(Request.HttpMethod.PUT, "/accounts/61/credit", Map.of(), null, StandardCharsets.UTF_8, null);
+        doThrow(new FeignException.GatewayTimeout("Read timed out", request, null, null))
+                .when(accountServiceClient).credit(eq(61L), any(BigDecimal.class), any(String.class), any());
+        doThrow(new FeignException.BadRequest("Account 62 is CLOSED", request, null, null))
+                .doNothing()
+                .when(accountServiceClient).credit(eq(62L), any(BigDecimal.class), any(String.class), any());
+        String url = "http://localhost:" + port + "/transactions/deposit";
+
+        HttpEntity<DepositRequest> timedOut = depositWithKey(61L, "deposit-timeout-1");
+        assertThat(restTemplate.postForEntity(url, timedOut, String.class).getStatusCode().is2xxSuccessful()).isFalse();
+        ResponseEntity<String> retry = restTemplate.postForEntity(url, timedOut, String.class);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(retry.getBody()).contains("may have been applied");
+        verify(accountServiceClient, times(1)).credit(eq(61L), any(BigDecimal.class), any(String.class), any());
+        assertThat(idempotencyRecordRepository.findById("deposit-timeout-1").orElseThrow().getStatus())
+                .isEqualTo(IdempotencyRecord.Status.UNKNOWN);
+
+        HttpEntity<DepositRequest> rejected = depositWithKey(62L, "deposit-rejected-1");
+        assertThat(restTemplate.postForEntity(url, rejected, String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.postForEntity(url, rejected, String.class).getStatusCode().is2xxSuccessful()).isTrue();
+    }
+
+    @Test
+    void depositAndWithdraw_shouldForwardAnOperationKeyDerivedFromTheClientKey() {
+        String url = "http://localhost:" + port + "/transactions/";
+        assertThat(restTemplate.postForEntity(url + "deposit", depositWithKey(63L, "client-key-1"), String.class)
+                .getStatusCode().is2xxSuccessful()).isTrue();
+        verify(accountServiceClient).credit(eq(63L), any(BigDecimal.class), any(String.class), eq("deposit-client-key-1"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", "k".repeat(100));
+        WithdrawRequest withdrawal = WithdrawRequest.builder()
+                .accountId(63L).amount(new BigDecimal("5.00")).currency("ETB").build();
+        assertThat(restTemplate.postForEntity(url + "withdraw", new HttpEntity<>(withdrawal, headers), String.class)
+                .getStatusCode().is2xxSuccessful()).isTrue();
+        // Too long to prefix within account-service's 100 characters, so it is hashed
+        ArgumentCaptor<String> keyCap = ArgumentCaptor.forClass(String.class);
+        verify(accountServiceClient).debit(eq(63L), any(BigDecimal.class), any(String.class), keyCap.capture());
+        assertThat(keyCap.getValue()).startsWith("withdraw-").hasSize("withdraw-".length() + 64);
+    }
+
+    @Test
+    void idempotencyPurge_shouldExpireAbandonedClaims_andFreeOldKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.save(idempotencyRecord("abandoned", IdempotencyRecord.Status.IN_PROGRESS, now.minusMinutes(10)));
+        idempotencyRecordRepository.save(idempotencyRecord("expired", IdempotencyRecord.Status.COMPLETED, now.minusDays(2)));
+        idempotencyRecordRepository.save(idempotencyRecord("running", IdempotencyRecord.Status.IN_PROGRESS, now));
+
+        idempotencyService.purgeExpired();
+
+        assertThat(idempotencyRecordRepository.findById("abandoned").orElseThrow().getStatus())
+                .isEqualTo(IdempotencyRecord.Status.UNKNOWN);
+        assertThat(idempotencyRecordRepository.findById("expired")).isEmpty();
+        assertThat(idempotencyRecordRepository.findById("running").orElseThrow().getStatus())
+                .isEqualTo(IdempotencyRecord.Status.IN_PROGRESS);
+    }
+
+    private static IdempotencyRecord idempotencyRecord(String key, IdempotencyRecord.Status status, LocalDateTime createdAt) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .operation("DEPOSIT")
+                .requestHash("0".repeat(64))
+                .status(status)
+                .createdAt(createdAt)
+                .completedAt(status == IdempotencyRecord.Status.COMPLETED ? createdAt : null)
+                .build();
+    }
+
+    private static HttpEntity<DepositRequest> depositWithKey(long accountId, String key) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", key);
+        return new HttpEntity<>(DepositRequest.builder()
+                .accountId(accountId)
+                .amount(new BigDecimal("10.00"))
+                .currency("ETB")
+                .build(), headers);
+    }
+
+    @Test
+    @Timeout(10)
+    void transfer_shouldLookUpBothAccountsConcurrently_andRejectInactiveDestination() {
+        // The source lookup only completes once the destination lookup has been issued, so
+        // validating the accounts one after the other would never finish
+        CompletableFuture<AccountSummary> source = new CompletableFuture<>();
+        doReturn(source).when(asyncAccountServiceClient).getAccount(41L);
+        doAnswer(invocation -> {
+            source.complete(new AccountSummary(41L, "ACTIVE", new BigDecimal("500.00")));
+            return CompletableFuture.completedFuture(new AccountSummary(42L, "CLOSED", BigDecimal.ZERO));
+        }).when(asyncAccountServiceClient).getAccount(42L);
+
+        TransferRequest req = TransferRequest.builder()
+                .fromAccountId(41L)
+                .toAccountId(42L)
+                .amount(new BigDecimal("20.00"))
+                .build();
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/transactions/transfer", req, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("Account 42 is not active");
+        verify(accountServiceClient, never()).debit(any(), any(BigDecimal.class), any(String.class), any());
+        assertThat(transferSagaRepository.count()).isZero();
+    }
+
+    @Test
+    void batchTransfer_shouldReportEachItem_andPersistOnlySuccessfulLegs() {
+        stubAccountStatuses(Map.of());
+        doThrow(new RuntimeException("Insufficient funds"))
+                .when(accountServiceClient).debit(eq(3L), any(BigDecimal.class), any(String.class), any());
+
+        List<TransferRequest> transfers = List.of(
+                TransferRequest.builder().fromAccountId(1L).toAccountId(10L).amount(new BigDecimal("5.00")).build(),
+                TransferRequest.builder().fromAccountId(3L).toAccountId(10L).amount(new BigDecimal("6.00")).build(),
+                TransferRequest.builder().fromAccountId(1L).toAccountId(11L).amount(new BigDecimal("7.00")).build(),
+                TransferRequest.builder().fromAccountId(2L).toAccountId(12L).amount(new BigDecimal("8.00")).build());
+
+        BatchTransferResponse response = restTemplate.postForObject(
+                "http://localhost:" + port + "/transactions/transfers/batch",
+                new BatchTransferRequest(transfers), BatchTransferResponse.class);
+
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting("status")
+                .containsExactly("SUCCEEDED", "FAILED", "SUCCEEDED", "SUCCEEDED");
+        assertThat(response.getResults().get(1).getError()).contains("Insufficient funds");
+        assertThat(transactionRepository.findAll()).hasSize(6);
+        // All six legs go through one batched insert
+        verify(transactionBatchWriter, times(1)).insertAll(argThat(rows -> rows.size() == 6));
+    }
+
+    @Test
+    void batchTransfer_shouldLeaveATransferDebited_whenItsLegsCannotBeWritten() {
+        stubAccountStatuses(Map.of());
+        doThrow(new IllegalStateException("Ledger unavailable"))
+                .when(transactionBatchWriter).insertAll(argThat(rows -> rows.stream().anyMatch(row -> row.getAccountId() == 3L)));
+
+        List<TransferRequest> transfers = List.of(
+                TransferRequest.builder().fromAccountId(1L).toAccountId(10L).amount(new BigDecimal("5.00")).build(),
+                TransferRequest.builder().fromAccountId(3L).toAccountId(10L).amount(new BigDecimal("6.00")).build());
+
+        BatchTransferResponse response = restTemplate.postForObject(
+                "http://localhost:" + port + "/transactions/transfers/batch",
+                new BatchTransferRequest(transfers), BatchTransferResponse.class);
+
+        assertThat(response.getResults()).extracting("status").containsExactly("SUCCEEDED", "PENDING");
+        Long stuck = response.getResults().get(1).getTransferId();
+        assertThat(transferSagaRepository.findById(stuck).orElseThrow().getStatus()).isEqualTo(TransferSaga.Status.DEBITED);
+        assertThat(transactionRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void batchTransfer_shouldRejectItemsWithInactiveAccounts_afterOneBulkLookup() {
+        stubAccountStatuses(Map.of(11L, "CLOSED"));
+
+        List<TransferRequest> transfers = List.of(
+                TransferRequest.builder().fromAccountId(1L).toAccountId(10L).amount(new BigDecimal("5.00")).build(),
+                TransferRequest.builder().fromAccountId(1L).toAccountId(11L).amount(new BigDecimal("6.00")).build(),
+                TransferRequest.builder().fromAccountId(2L).toAccountId(10L).amount(new BigDecimal("7.00")).build());
+
+        BatchTransferResponse response = restTemplate.postForObject(
+                "http://localhost:" + port + "/transactions/transfers/batch",
+                new BatchTransferRequest(transfers), BatchTransferResponse.class);
+
+        assertThat(response.getResults()).extracting("status")
+                .containsExactly("SUCCEEDED", "FAILED", "SUCCEEDED");
+        assertThat(response.getResults().get(1).getError()).contains("Account 11 is not active (CLOSED)");
+        assertThat(response.getResults().get(1).getTransferId()).isNull();
+        verify(accountServiceClient, times(1)).getAccounts(any(AccountBulkRequest.class));
+        verify(accountServiceClient, never()).credit(eq(11L), any(BigDecimal.class), any(String.class), any());
+        assertThat(transferSagaRepository.count()).isEqualTo(2);
+    }
+
+    // Every requested account is ACTIVE unless listed
+    private void stubAccountStatuses(Map<Long, String> statuses) {
+        doAnswer(invocation -> invocation.<AccountBulkRequest>getArgument(0).getIds().stream()
+                .map(id -> new AccountSummary(id, statuses.getOrDefault(id, "ACTIVE"), null))
+                .toList())
+                .when(accountServiceClient).getAccounts(any(AccountBulkRequest.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deposit_shouldWriteOutboxEvent_andRelayShouldPublishIt() {
+        long accountId = 11L;
+        DepositRequest req = DepositRequest.builder()
+                .accountId(accountId)
+                .amount(new BigDecimal("42.00"))
+                .currency("ETB")
+                .build();
+        doThrow(new RuntimeException("broker down")).when(ledgerEventSink).publish(any());
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/transactions/deposit", req, String.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+
+        // Committed with the transaction row, and kept pending while the sink is failing
+        outboxRelay.relayPending();
+        List<OutboxEvent> pending = outboxEventRepository.findAll();
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0).getEventType()).isEqualTo(OutboxEvent.LEDGER_ENTRY_RECORDED);
+        assertThat(pending.get(0).getAggregateId()).isEqualTo(accountId);
+        assertThat(pending.get(0).getPublishedAt()).isNull();
+        assertThat(pending.get(0).getAttempts()).isPositive();
+
+        doNothing().when(ledgerEventSink).publish(any());
+        outboxRelay.relayPending();
+
+        assertThat(outboxEventRepository.countByPublishedAtIsNull()).isZero();
+        ArgumentCaptor<List<LedgerEvent>> published = ArgumentCaptor.forClass(List.class);
+        verify(ledgerEventSink, atLeastOnce()).publish(published.capture());
+        LedgerEvent event = published.getValue().get(0);
+        assertThat(event.getAccountId()).isEqualTo(accountId);
+        assertThat(event.getPayload()).contains("42.0");
+    }
+
+    @Test
+    void relay_shouldPublishAroundAPoisonEvent_andDeadLetterItAfterMaxAttempts() {
+        doAnswer(invocation -> {
+            List<LedgerEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> event.getAccountId() == 22L)) {
+                throw new RuntimeException("unserializable payload");
+            }
+            return null;
+        }).when(ledgerEventSink).publish(any());
+        deposit(21L);
+        deposit(22L);
+        deposit(23L);
+
+        outboxRelay.relayPending();
+        assertThat(outboxEventRepository.countByPublishedAtIsNull()).isEqualTo(1);
+        assertThat(outboxEventRepository.countByDeadLetteredAtIsNotNull()).isZero();
+
+        deposit(24L);
+        outboxRelay.relayPending();
+
+        OutboxEvent poison = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId() == 22L).findFirst().orElseThrow();
+        assertThat(poison.getAttempts()).isEqualTo(2);
+        assertThat(poison.getDeadLetteredAt()).isNotNull();
+        assertThat(poison.getLastError()).isEqualTo("unserializable payload");
+        assertThat(outboxEventRepository.countByPublishedAtIsNull()).isEqualTo(1);
+        assertThat(outboxRelay.relayPending()).isZero();
+    }
+
+    private void deposit(long accountId) {
+        DepositRequest req = DepositRequest.builder()
+                .accountId(accountId)
+                .amount(new BigDecimal("5.00"))
+                .currency("ETB")
+                .build();
+        assertThat(restTemplate.postForEntity("http://localhost:" + port + "/transactions/deposit", req, String.class)
+                .getStatusCode().is2xxSuccessful()).isTrue();
+    }
+
+    @Test
+    void recoveryWorker_shouldResumeStuckSaga_andCompensateRejectedCredit() {
+        // Both sagas were left DEBITED by a crashed instance whose lease has expired
+        TransferSaga resumable = transferSagaRepository.save(stuckSaga(21L, 22L));
+        TransferSaga rejected = transferSagaRepository.save(stuckSaga(31L, 32L));
+        doThrow(new RuntimeException("Account 32 is closed"))
+                .when(accountServiceClient).credit(eq(32L), any(BigDecimal.class), any(String.class), any());
+
+        assertThat(transferSagaRecoveryWorker.recoverDue()).isEqualTo(2);
+
+        TransferSaga done = transferSagaRepository.findById(resumable.getId()).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(TransferSaga.Status.CREDITED);
+        assertThat(done.getNextAttemptAt()).isNull();
+        verify(accountServiceClient, times(0)).debit(any(), any(BigDecimal.class), any(String.class), any());
+        verify(accountServiceClient).credit(eq(22L), any(BigDecimal.class), any(String.class), eq("transfer-" + resumable.getId() + "-credit"));
+
+        TransferSaga failed = transferSagaRepository.findById(rejected.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(TransferSaga.Status.FAILED);
+        assertThat(failed.getFailureReason()).contains("Account 32 is closed");
+        ArgumentCaptor<String> compensation = ArgumentCaptor.forClass(String.class);
+        verify(accountServiceClient).credit(eq(31L), eq(new BigDecimal("15.00")), compensation.capture(),
+                eq("transfer-" + rejected.getId() + "-compensate"));
+        assertThat(compensation.getValue()).startsWith("Compensation").contains("[transfer " + rejected.getId() + "]");
+
+        // Only the completed transfer has ledger legs
+        assertThat(transactionRepository.findAll()).extracting(Transaction::getAccountId).containsExactlyInAnyOrder(21L, 22L);
+        assertThat(transferSagaRecoveryWorker.recoverDue()).isZero();
+    }
+
+    @Test
+    void creditThatKeepsTimingOut_shouldBeRetriedWithItsKey_neverCompensated() {
+        TransferSaga saga = stuckSaga(51L, 52L);
+        saga.setAttempts(4);
+        saga = transferSagaRepository.save(saga);
+        Request request = Request.create(Request.HttpMethod.PUT, "/accounts/52/credit", Map.of(), null, StandardCharsets.UTF_8, null);
+        doThrow(new FeignException.ServiceUnavailable("Read timed out", request, null, null))
+                .doNothing()
+                .when(accountServiceClient).credit(eq(52L), any(BigDecimal.class), any(String.class), any());
+
+        // The credit may have landed, so the fifth failure leaves the saga DEBITED rather than compensating
+        assertThat(transferSagaOrchestrator.run(saga.getId()).getStatus()).isEqualTo(TransferSaga.Status.DEBITED);
+        verify(accountServiceClient, never()).credit(eq(51L), any(BigDecimal.class), any(String.class), any());
+
+        assertThat(transferSagaOrchestrator.run(saga.getId()).getStatus()).isEqualTo(TransferSaga.Status.CREDITED);
+        verify(accountServiceClient, times(2)).credit(eq(52L), any(BigDecimal.class), any(String.class),
+                eq("transfer-" + saga.getId() + "-credit"));
+    }
+
+    private static TransferSaga stuckSaga(long from, long to) {
+        LocalDateTime past = LocalDateTime.now().minusMinutes(5);
+        return TransferSaga.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(new BigDecimal("15.00"))
+                .currency("ETB")
+                .description("Transfer")
+                .status(TransferSaga.Status.DEBITED)
+                .nextAttemptAt(past)
+                .createdAt(past)
+                .updatedAt(past)
+                .build();
+    }
+
+    private TransferStatusResponse awaitTransfer(Long transferId) {
+        String url = "http://localhost:" + port + "/transactions/transfers/" + transferId;
+        long deadline = System.currentTimeMillis() + 5_000;
+        TransferStatusResponse status;
+        do {
+            status = restTemplate.getForObject(url, TransferStatusResponse.class);
+        } while (("PENDING".equals(status.getStatus()) || "DEBITED".equals(status.getStatus()))
+                && System.currentTimeMillis() < deadline);
+        return status;
+    }
+
+    @Test
+    void serviceToken_shouldCarryTheServiceRole_andVerifyWithAccountServiceSecret() throws Exception {
+        String token = serviceTokenProvider.token();
+        String[] parts = token.split("\\.");
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("my_super_secure_secret_key_for_jwt_2026_project_secure"
+                .getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+        assertThat(Base64.getUrlDecoder().decode(parts[2])).isEqualTo(signature);
+
+        String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        assertThat(claims).contains("\"authorities\":\"ROLE_SERVICE\"", "\"sub\":\"0\"", "\"exp\":");
+        assertThat(serviceTokenProvider.token()).isEqualTo(token);
+    }
 }
@@ -0,0 +1,213 @@
+package com.nigusbank.transaction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Max deposit throughput at a fixed p99, platform threads versus virtual threads. Each mode
+ * boots the whole service with its real Feign client pointed at an in-JVM account-service
+ * stub that answers after {@code bench.latency-ms}, then runs closed-loop load at increasing
+ * concurrency for {@code bench.seconds} per step. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=VirtualThreadLoadBenchmark -Dbench.seconds=10 -Dbench.latency-ms=50 -Dbench.p99-ms=250
+ * </pre>
+ *
+ * The downstream limit is the same in both modes ({@code bench.downstream-limit}, default 256),
+ * so the difference is down to how many requests each thread model can keep waiting on it.
+ */
+@EnabledIfSystemProperty(named = "bench.seconds", matches = "\\d+")
+class VirtualThreadLoadBenchmark {
+
+    private static final int[] CONCURRENCY = {50, 100, 200, 400, 800};
+
+    @Test
+    void maxThroughputAtFixedP99() throws Exception {
+        int seconds = Integer.parseInt(System.getProperty("bench.seconds"));
+        long latencyMs = Long.parseLong(System.getProperty("bench.latency-ms", "50"));
+        long p99BudgetMs = Long.parseLong(System.getProperty("bench.p99-ms", "250"));
+        int downstreamLimit = Integer.parseInt(System.getProperty("bench.downstream-limit", "256"));
+
+        StubAccountService accountService = new StubAccountService(latencyMs);
+
+        try {
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TransactionApplication.class)
+                        // Command-line args, so they win over application.yml
+                        .run("--server.port=0",
+                                "--spring.jpa.show-sql=false",
+                                "--spring.threads.virtual.enabled=" + virtual,
+                                "--spring.cloud.openfeign.client.config.account-service.url=http://localhost:"
+                                        + accountService.port(),
+                                "--app.downstream.max-concurrent.account-service=" + downstreamLimit,
+                                "--app.outbox.relay.enabled=false",
+                                "--app.transactions.saga.recovery.enabled=false")) {
+                    int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+                    report(virtual ? "virtual" : "platform", port, seconds, latencyMs, p99BudgetMs);
+                }
+            }
+        } finally {
+            accountService.close();
+        }
+    }
+
+    private void report(String mode, int port, int seconds, long latencyMs, long p99BudgetMs) throws Exception {
+        URI deposit = URI.create("http://localhost:" + port + "/transactions/deposit");
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).connectTimeout(Duration.ofSeconds(5)).build();
+
+            run(http, deposit, CONCURRENCY[0], 2);     // JIT, connection pools, id allocation
+            double best = 0;
+            for (int concurrency : CONCURRENCY) {
+                Result r = run(http, deposit, concurrency, seconds);
+                boolean withinBudget = r.p99Ms <= p99BudgetMs && r.errors == 0;
+                if (withinBudget) {
+                    best = Math.max(best, r.rps);
+                }
+                System.out.printf("[bench] %-8s latency=%dms concurrency=%4d: %7.0f req/s p50=%6.1fms p99=%7.1fms errors=%d%s%n",
+                        mode, latencyMs, concurrency, r.rps, r.p50Ms, r.p99Ms, r.errors, withinBudget ? "" : "  (over budget)");
+            }
+            System.out.printf("[bench] %-8s max throughput with p99 <= %dms: %.0f req/s%n", mode, p99BudgetMs, best);
+        }
+    }
+
+    private Result run(HttpClient http, URI uri, int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        List<Thread> workers = new ArrayList<>(concurrency);
+
+        for (int w = 0; w < concurrency; w++) {
+            long accountId = 1 + w;
+            long[][] slot = {new long[1024]};
+            int[] count = {0};
+            Thread worker = Thread.ofVirtual().start(() -> {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"accountId\":" + accountId + ",\"amount\":1.00,\"currency\":\"ETB\"}"))
+                        .build();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() / 100 != 2) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count[0] == slot[0].length) {
+                        slot[0] = Arrays.copyOf(slot[0], count[0] * 2);
+                    }
+                    slot[0][count[0]++] = System.nanoTime() - start;
+                }
+                synchronized (perWorker) {
+                    perWorker.add(Arrays.copyOf(slot[0], count[0]));
+                }
+            });
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all.length / (double) seconds, percentile(all, 0.50), percentile(all, 0.99), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * sorted.length))] / 1_000_000.0;
+    }
+
+    private record Result(double rps, double p50Ms, double p99Ms, long errors) {
+    }
+
+    /**
+     * Minimal keep-alive HTTP/1.1 server answering every request with an empty 200 after a fixed
+     * delay. com.sun.net.httpserver leaves Nagle on and adds ~40ms per response here, which would
+     * swamp the latency being simulated.
+     */
+    private static final class StubAccountService implements AutoCloseable {
+
+        private static final byte[] OK = "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        private final ServerSocket server;
+        private final long latencyMs;
+
+        StubAccountService(long latencyMs) throws IOException {
+            this.server = new ServerSocket(0, 1024);
+            this.latencyMs = latencyMs;
+            Thread.ofVirtual().start(this::accept);
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    socket.setTcpNoDelay(true);
+                    Thread.ofVirtual().start(() -> serve(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                OutputStream out = socket.getOutputStream();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    int contentLength = 0;
+                    while (!(line = in.readLine()).isEmpty()) {
+                        if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                            contentLength = Integer.parseInt(line.substring(15).trim());
+                        }
+                    }
+                    in.skip(contentLength);
+                    Thread.sleep(latencyMs);
+                    out.write(OK);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // connection closed by the client or the benchmark is shutting down
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.userservice.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries email and phone values newly taken on one user-service instance to the others, so
+ * their availability filters learn values from profile updates without waiting for a rebuild.
+ * New users also reach them through the id sync, so a lost message only matters for updates,
+ * and only until the next rebuild.
+ */
+public interface ContactChangeChannel {
+
+    void publish(ContactChange change);
+
+    void subscribe(Consumer<ContactChange> listener);
+
+    /**
+     * Values taken by one change, already normalized as filter keys; either may be null.
+     * {@code origin} identifies the publishing instance, which has applied the change already.
+     */
+    record ContactChange(String origin, String emailKey, String phoneKey) {
+    }
+}
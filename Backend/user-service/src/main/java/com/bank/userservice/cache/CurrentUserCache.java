@@ -0,0 +1,75 @@
+package com.bank.userservice.cache;
+
+import com.bank.userservice.dto.UserResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Local cache of {@code GET /api/users/me} responses, keyed by Keycloak id, bounded by
+ * {@code max-size} and expiring {@code ttl} after load.
+ *
+ * <p>{@link #invalidate} drops the entry here and, through the {@link UserInvalidationChannel},
+ * on every other instance. Each invalidation also bumps a generation, and a load that overlapped
+ * one is not kept, so a profile read just before an update commits is never cached after it.
+ * Call it once the change has committed.
+ */
+@Component
+public class CurrentUserCache {
+
+    private final boolean enabled;
+    private final Cache<String, UserResponseDto> cache;
+    private final UserInvalidationChannel channel;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CurrentUserCache(UserInvalidationChannel channel,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.users.me-cache.enabled:true}") boolean enabled,
+                            @Value("${app.users.me-cache.max-size:100000}") long maxSize,
+                            @Value("${app.users.me-cache.ttl:PT5M}") Duration ttl) {
+        this.enabled = enabled;
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.me");
+        channel.subscribe(this::invalidateLocally);
+    }
+
+    public UserResponseDto get(String keycloakId, Function<String, UserResponseDto> loader) {
+        if (!enabled) {
+            return loader.apply(keycloakId);
+        }
+        UserResponseDto cached = cache.getIfPresent(keycloakId);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        UserResponseDto loaded = loader.apply(keycloakId);
+        cache.put(keycloakId, loaded);
+        // An invalidation that landed while we were loading may not be in what we read
+        if (generation.get() != seen) {
+            cache.asMap().remove(keycloakId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(String keycloakId) {
+        invalidateLocally(keycloakId);
+        channel.publish(keycloakId);
+    }
+
+    private void invalidateLocally(String keycloakId) {
+        generation.incrementAndGet();
+        cache.invalidate(keycloakId);
+    }
+}
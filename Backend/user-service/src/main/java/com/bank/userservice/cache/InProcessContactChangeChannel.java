@@ -0,0 +1,28 @@
+package com.bank.userservice.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers contact changes to listeners in this JVM only, like {@link InProcessUserInvalidationChannel}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.users.availability", name = "channel", havingValue = "in-process", matchIfMissing = true)
+public class InProcessContactChangeChannel implements ContactChangeChannel {
+
+    private final List<Consumer<ContactChange>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ContactChange change) {
+        listeners.forEach(listener -> listener.accept(change));
+    }
+
+    @Override
+    public void subscribe(Consumer<ContactChange> listener) {
+        listeners.add(listener);
+    }
+}
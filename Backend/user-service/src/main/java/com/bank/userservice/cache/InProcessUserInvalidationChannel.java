@@ -0,0 +1,29 @@
+package com.bank.userservice.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations to listeners in this JVM only: enough for a single instance, and the
+ * stand-in for tests, where several caches on one channel play the replicas.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.users.me-cache", name = "channel", havingValue = "in-process", matchIfMissing = true)
+public class InProcessUserInvalidationChannel implements UserInvalidationChannel {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String keycloakId) {
+        listeners.forEach(listener -> listener.accept(keycloakId));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
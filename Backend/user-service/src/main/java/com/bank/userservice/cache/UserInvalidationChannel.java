@@ -0,0 +1,15 @@
+package com.bank.userservice.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries "this user's profile changed" between user-service instances, so every replica drops
+ * its cached copy. Implementations over a message broker plug in here; delivery may be late or
+ * repeated, and a lost message is bounded by the cache TTL.
+ */
+public interface UserInvalidationChannel {
+
+    void publish(String keycloakId);
+
+    void subscribe(Consumer<String> listener);
+}
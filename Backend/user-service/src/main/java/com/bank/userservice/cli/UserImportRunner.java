@@ -0,0 +1,58 @@
+package com.bank.userservice.cli;
+
+import com.bank.userservice.dto.UserImportResultDto;
+import com.bank.userservice.service.UserImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import for files too large to upload, run on a host with database access:
+ *
+ * <pre>
+ * java -jar user-service.jar --app.users.import.file=users.csv \
+ *      --spring.main.web-application-type=none --eureka.client.enabled=false
+ * </pre>
+ *
+ * Imports the file, logs where the error report is, and exits with 0, or 1 if any row was rejected.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("app.users.import.file")
+public class UserImportRunner implements ApplicationRunner {
+
+    private final UserImportService userImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+
+    public UserImportRunner(UserImportService userImportService,
+                            ConfigurableApplicationContext context,
+                            @Value("${app.users.import.file}") Path file) {
+        this.userImportService = userImportService;
+        this.context = context;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        UserImportResultDto result;
+        try (InputStream input = Files.newInputStream(file)) {
+            result = userImportService.importUsers(input, UserImportService.Format.of(file.getFileName().toString()));
+        }
+        if (result.getRejected() > 0) {
+            log.warn("{} rows of {} rejected, see {}", result.getRejected(), file,
+                    userImportService.errorReport(result.getImportId()));
+        }
+        int exitCode = result.getRejected() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
@@ -1,17 +1,32 @@
 package com.bank.userservice.controller;
 
+import com.bank.userservice.dto.AvailabilityResponseDto;
+import com.bank.userservice.dto.UserBatchRequestDto;
 import com.bank.userservice.dto.UserCreateDto;
+import com.bank.userservice.dto.UserImportResultDto;
 import com.bank.userservice.dto.UserResponseDto;
+import com.bank.userservice.dto.UserSummaryDto;
+import com.bank.userservice.service.AvailabilityService;
+import com.bank.userservice.service.UserImportService;
 import com.bank.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
 @Tag(name = "User Management", description = "User profile endpoints")
 @RestController
 @RequestMapping("/api/users")
@@ -19,6 +34,8 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final AvailabilityService availabilityService;
+    private final UserImportService userImportService;
 
     @Operation(summary = "Create user profile after Keycloak registration")
     @PostMapping("/register")
@@ -27,6 +44,38 @@ public class UserController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Bulk-create users from a streamed CSV or NDJSON file (migration use)")
+    @PostMapping(value = "/_import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'MIGRATION')")
+    public ResponseEntity<UserImportResultDto> importUsers(HttpServletRequest request) throws IOException {
+        // Read straight from the request so the file is never held in memory
+        UserImportService.Format format = UserImportService.Format.of(request.getContentType());
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format));
+    }
+
+    @Operation(summary = "Download the per-row error report of a bulk import")
+    @GetMapping(value = "/_import/{importId}/errors", produces = "text/csv")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MIGRATION')")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String importId) {
+        Path report;
+        try {
+            report = userImportService.errorReport(importId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();   // not an id any import handed out
+        }
+        if (!Files.exists(report)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new FileSystemResource(report));
+    }
+
+    @Operation(summary = "Check whether an email and/or phone number can still be registered")
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponseDto> checkAvailability(@RequestParam(required = false) String email,
+                                                                     @RequestParam(required = false) String phoneNumber) {
+        return ResponseEntity.ok(availabilityService.check(email, phoneNumber));
+    }
+
     @Operation(summary = "Get current authenticated user's profile")
     @GetMapping("/me")
     public ResponseEntity<UserResponseDto> getCurrentUser(@AuthenticationPrincipal Jwt jwt) {
@@ -40,4 +89,11 @@ public class UserController {
     public ResponseEntity<UserResponseDto> getUserById(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUserById(id));
     }
+
+    @Operation(summary = "Get many users by internal ID in one call (service-to-service use)")
+    @PostMapping("/_batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    public ResponseEntity<List<UserSummaryDto>> getUsersByIds(@RequestBody UserBatchRequestDto request) {
+        return ResponseEntity.ok(userService.getUsersByIds(request.getIds()));
+    }
 }
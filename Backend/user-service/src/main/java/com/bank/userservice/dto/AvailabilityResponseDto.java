@@ -0,0 +1,15 @@
+package com.bank.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityResponseDto {
+    private Boolean emailAvailable;         // null when no email was asked about
+    private Boolean phoneNumberAvailable;   // null when no phone number was asked about
+}
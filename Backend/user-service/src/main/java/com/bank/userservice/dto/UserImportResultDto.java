@@ -0,0 +1,17 @@
+package com.bank.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResultDto {
+    private String importId;           // names the error report: GET /api/users/_import/{importId}/errors
+    private long rows;                 // records read, header excluded
+    private long imported;
+    private long rejected;             // one line per failed field in the error report
+    private long elapsedMs;
+    private long usersPerSecond;
+}
@@ -0,0 +1,20 @@
+package com.bank.userservice.exception;
+
+import java.util.Map;
+
+/**
+ * A new or changed user collides with an existing one on a unique field.
+ */
+public class DuplicateUserException extends RuntimeException {
+
+    private final Map<String, String> fieldErrors;
+
+    public DuplicateUserException(Map<String, String> fieldErrors) {
+        super(String.join(", ", fieldErrors.values()));
+        this.fieldErrors = fieldErrors;
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+}
@@ -1,8 +1,14 @@
 package com.bank.userservice.repository;
 
+import com.bank.userservice.dto.UserSummaryDto;
 import com.bank.userservice.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,4 +22,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByPhoneNumber(String phoneNumber);
-}
\ No newline at end of file
+
+    // The users already holding any of the three unique values, in one round trip. UNION ALL rather
+    // than OR, so each branch is a single unique-index lookup on every database.
+    @Query("SELECT u.keycloakId AS keycloakId, u.email AS email, u.phoneNumber AS phoneNumber FROM User u WHERE u.keycloakId = :keycloakId "
+            + "UNION ALL SELECT u.keycloakId, u.email, u.phoneNumber FROM User u WHERE u.email = :email "
+            + "UNION ALL SELECT u.keycloakId, u.email, u.phoneNumber FROM User u WHERE u.phoneNumber = :phoneNumber")
+    List<UniqueKeys> findUniqueKeyConflicts(@Param("keycloakId") String keycloakId,
+                                            @Param("email") String email,
+                                            @Param("phoneNumber") String phoneNumber);
+
+    // Batch lookup by id; callers keep each list to one chunk
+    @Query("SELECT new com.bank.userservice.dto.UserSummaryDto(u.id, u.firstName, u.lastName, u.email) FROM User u WHERE u.id IN :ids")
+    List<UserSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Which of these values are taken, for bulk import; callers keep each list to one import chunk
+    @Query("SELECT u.keycloakId FROM User u WHERE u.keycloakId IN :keycloakIds")
+    List<String> findKeycloakIdsIn(@Param("keycloakIds") Collection<String> keycloakIds);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IN :phoneNumbers")
+    List<String> findPhoneNumbersIn(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    // Keyset page over the contact fields, for loading the availability filters
+    @Query("SELECT u.id AS id, u.email AS email, u.phoneNumber AS phoneNumber FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<ContactKeys> findContactKeysAfter(@Param("afterId") Long afterId, Limit limit);
+
+    interface UniqueKeys {
+        String getKeycloakId();
+
+        String getEmail();
+
+        String getPhoneNumber();
+    }
+
+    interface ContactKeys {
+        Long getId();
+
+        String getEmail();
+
+        String getPhoneNumber();
+    }
+}
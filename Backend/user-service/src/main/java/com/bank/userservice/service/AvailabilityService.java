@@ -0,0 +1,11 @@
+package com.bank.userservice.service;
+
+import com.bank.userservice.dto.AvailabilityResponseDto;
+
+public interface AvailabilityService {
+
+    AvailabilityResponseDto check(String email, String phoneNumber);   // either may be null
+
+    // Called when a user is created, changed or deleted; null for a side that does not exist
+    void onContactChanged(String oldEmail, String oldPhoneNumber, String newEmail, String newPhoneNumber);
+}
@@ -0,0 +1,30 @@
+package com.bank.userservice.service;
+
+import com.bank.userservice.dto.UserImportResultDto;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+
+public interface UserImportService {
+
+    UserImportResultDto importUsers(InputStream input, Format format);
+
+    Path errorReport(String importId);   // may not exist, e.g. for an unknown id
+
+    enum Format {
+        CSV, NDJSON;
+
+        // From a content type (text/csv, application/x-ndjson) or a file name (.csv, .ndjson, .jsonl)
+        public static Format of(String contentTypeOrFileName) {
+            String value = contentTypeOrFileName == null ? "" : contentTypeOrFileName.toLowerCase(Locale.ROOT);
+            if (value.contains("csv")) {
+                return CSV;
+            }
+            if (value.contains("ndjson") || value.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import format: " + contentTypeOrFileName + " (use CSV or NDJSON)");
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.bank.userservice.service;
 
 import com.bank.userservice.dto.UserCreateDto;
 import com.bank.userservice.dto.UserResponseDto;
+import com.bank.userservice.dto.UserSummaryDto;
+
+import java.util.List;
 
 public interface UserService {
 
@@ -11,6 +14,8 @@ public interface UserService {
 
     UserResponseDto getUserById(Long id);
 
+    List<UserSummaryDto> getUsersByIds(List<Long> ids);   // found users in request order, unknown ids left out
+
     UserResponseDto updateUser(Long id, UserCreateDto dto);
 
     void deleteUser(Long id);
@@ -0,0 +1,351 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.cache.ContactChangeChannel;
+import com.bank.userservice.dto.AvailabilityResponseDto;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.AvailabilityService;
+import com.bank.userservice.util.AfterCommit;
+import com.bank.userservice.util.CuckooFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Email and phone-number availability for signup forms, answered from two in-memory cuckoo
+ * filters so that most checks never reach the database.
+ *
+ * <ul>
+ *   <li>A value the filter has never seen is available, with no query.</li>
+ *   <li>A possible hit is confirmed with {@code existsByEmail} / {@code existsByPhoneNumber};
+ *       the share of those that turn out free is the observed false-positive rate.</li>
+ *   <li>The filters are loaded in the background at startup by paging through {@code users};
+ *       until then every check goes to the database.</li>
+ *   <li>New values are added as soon as they are saved, and published on the
+ *       {@link ContactChangeChannel} after the commit so the other instances add them too.</li>
+ *   <li>Users created on other instances are also picked up every {@code sync-interval-ms} by id,
+ *       which covers a lost message for a new user. Adding a value twice stores it once.</li>
+ *   <li>Values are never removed: a freed value stays a false positive, which costs one database
+ *       check, until the rebuild on {@code rebuild-cron} sheds it.</li>
+ * </ul>
+ *
+ * Both filters are sized for {@code expected-users}: 50M users take about 211MB, and twice that
+ * while a rebuild holds the new set next to the old one. Startup fails if that peak would exceed
+ * {@code memory-budget}. A filter that overflows anyway stops answering and sends every check to
+ * the database until the next rebuild.
+ */
+@Slf4j
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final UserRepository userRepository;
+    private final ContactChangeChannel channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final boolean enabled;
+    private final long expectedUsers;
+    private final int pageSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Checks emailChecks;
+    private final Checks phoneChecks;
+    private final AtomicLong maxLoadedId = new AtomicLong();
+
+    // Guarded by lock
+    private Filters filters;
+    private List<String[]> addedDuringRebuild;
+    private volatile boolean ready;
+
+    public AvailabilityServiceImpl(UserRepository userRepository,
+                                   ContactChangeChannel channel,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.users.availability.enabled:true}") boolean enabled,
+                                   @Value("${app.users.availability.expected-users:1000000}") long expectedUsers,
+                                   @Value("${app.users.availability.memory-budget:512MB}") DataSize memoryBudget,
+                                   @Value("${app.users.availability.page-size:10000}") int pageSize) {
+        this.userRepository = userRepository;
+        this.channel = channel;
+        this.enabled = enabled;
+        this.expectedUsers = expectedUsers;
+        this.pageSize = pageSize;
+
+        // Two filters, and a second pair during a rebuild
+        long required = 4 * CuckooFilter.bytesFor(expectedUsers);
+        if (enabled && required > memoryBudget.toBytes()) {
+            throw new IllegalStateException("Availability filters for " + expectedUsers + " users need "
+                    + DataSize.ofBytes(required).toMegabytes() + "MB, over the " + memoryBudget.toMegabytes() + "MB budget");
+        }
+        this.filters = enabled ? Filters.create(expectedUsers) : null;
+        this.emailChecks = new Checks("email", meterRegistry, Filters::emails);
+        this.phoneChecks = new Checks("phoneNumber", meterRegistry, Filters::phones);
+        channel.subscribe(this::onRemoteChange);
+    }
+
+    @Override
+    public AvailabilityResponseDto check(String email, String phoneNumber) {
+        if (isBlank(email) && isBlank(phoneNumber)) {
+            throw new IllegalArgumentException("Email or phone number is required");
+        }
+        return new AvailabilityResponseDto(
+                isBlank(email) ? null : emailChecks.isAvailable(emailKey(email), userRepository::existsByEmail, email.trim()),
+                isBlank(phoneNumber) ? null : phoneChecks.isAvailable(phoneNumber.trim(), userRepository::existsByPhoneNumber, phoneNumber.trim()));
+    }
+
+    @Override
+    public void onContactChanged(String oldEmail, String oldPhoneNumber, String newEmail, String newPhoneNumber) {
+        if (!enabled) {
+            return;
+        }
+        String addEmail = !isBlank(newEmail) && !newEmail.equalsIgnoreCase(nullToEmpty(oldEmail)) ? emailKey(newEmail) : null;
+        String addPhone = !isBlank(newPhoneNumber) && !newPhoneNumber.trim().equals(nullToEmpty(oldPhoneNumber).trim()) ? newPhoneNumber.trim() : null;
+        if (addEmail != null || addPhone != null) {
+            add(addEmail, addPhone);
+            AfterCommit.run(() -> channel.publish(new ContactChangeChannel.ContactChange(instanceId, addEmail, addPhone)));
+        }
+    }
+
+    private void onRemoteChange(ContactChangeChannel.ContactChange change) {
+        if (enabled && !instanceId.equals(change.origin())) {
+            add(change.emailKey(), change.phoneKey());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::rebuild, "availability-filter-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Loads every user into fresh filters and swaps them in. Values saved on this instance while
+     * the load runs are replayed into the new filters before the swap. Synchronized so a
+     * scheduled rebuild that overlaps the startup load waits for it.
+     */
+    @Scheduled(cron = "${app.users.availability.rebuild-cron:0 0 3 * * *}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        Filters fresh = Filters.create(expectedUsers);
+        long lastId = load(fresh, 0L);
+
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild.forEach(added -> fresh.add(added[0], added[1]));
+            addedDuringRebuild = null;
+            filters = fresh;
+            maxLoadedId.accumulateAndGet(lastId, Math::max);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Availability filters loaded: {} emails, {} phone numbers, in {}ms",
+                fresh.emails.size(), fresh.phones.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds users created since the last load, including those created on other instances.
+     */
+    @Scheduled(fixedDelayString = "${app.users.availability.sync-interval-ms:10000}")
+    public void syncNewUsers() {
+        if (ready) {
+            maxLoadedId.accumulateAndGet(load(null, maxLoadedId.get()), Math::max);
+        }
+    }
+
+    // Pages through users after afterId into target, or into the live filters when target is null
+    private long load(Filters target, long afterId) {
+        while (true) {
+            List<UserRepository.ContactKeys> page = userRepository.findContactKeysAfter(afterId, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                return afterId;
+            }
+            for (UserRepository.ContactKeys row : page) {
+                String emailKey = keyOrNull(row.getEmail(), true);
+                String phoneKey = keyOrNull(row.getPhoneNumber(), false);
+                if (target != null) {
+                    // Not visible to readers yet, so no lock
+                    target.add(emailKey, phoneKey);
+                } else {
+                    add(emailKey, phoneKey);
+                }
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private void add(String emailKey, String phoneKey) {
+        lock.writeLock().lock();
+        try {
+            filters.add(emailKey, phoneKey);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(new String[]{emailKey, phoneKey});
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // MySQL compares emails case-insensitively, so the filter must too
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String keyOrNull(String value, boolean email) {
+        return isBlank(value) ? null : email ? emailKey(value) : value.trim();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Filter lookup plus database fallback for one field, with its metrics.
+     */
+    private final class Checks {
+
+        private final Function<Filters, Filter> filterOf;
+        private final Counter filtered;
+        private final Counter taken;
+        private final Counter falsePositives;
+        private final Counter unfiltered;
+
+        private Checks(String field, MeterRegistry meterRegistry, Function<Filters, Filter> filterOf) {
+            this.filterOf = filterOf;
+            this.filtered = counter(meterRegistry, field, "filtered");
+            this.taken = counter(meterRegistry, field, "taken");
+            this.falsePositives = counter(meterRegistry, field, "false_positive");
+            this.unfiltered = counter(meterRegistry, field, "unfiltered");
+            Gauge.builder("user.availability.filter.false-positive-rate", this, Checks::observedFalsePositiveRate)
+                    .tag("field", field)
+                    .register(meterRegistry);
+            Gauge.builder("user.availability.filter.size", this, Checks::size)
+                    .tag("field", field)
+                    .register(meterRegistry);
+        }
+
+        private boolean isAvailable(String key, Predicate<String> existsInDatabase, String value) {
+            Boolean mightContain = null;
+            if (ready) {
+                lock.readLock().lock();
+                try {
+                    mightContain = filterOf.apply(filters).mightContain(key);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            if (Boolean.FALSE.equals(mightContain)) {
+                filtered.increment();
+                return true;
+            }
+            boolean exists = existsInDatabase.test(value);
+            if (mightContain == null) {
+                unfiltered.increment();
+            } else if (exists) {
+                taken.increment();
+            } else {
+                falsePositives.increment();
+            }
+            return !exists;
+        }
+
+        // Of the free values checked, the share the filter could not rule out
+        private double observedFalsePositiveRate() {
+            double free = filtered.count() + falsePositives.count();
+            return free == 0 ? 0 : falsePositives.count() / free;
+        }
+
+        private double size() {
+            lock.readLock().lock();
+            try {
+                return filters == null ? 0 : filterOf.apply(filters).size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Counter counter(MeterRegistry meterRegistry, String field, String result) {
+            return Counter.builder("user.availability.checks")
+                    .tag("field", field)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * A cuckoo filter that, once it has failed to take a value, reports everything as possibly
+     * present so no taken value is ever reported free.
+     */
+    private static final class Filter {
+
+        private final CuckooFilter filter;
+        private boolean overflowed;
+
+        private Filter(long expectedKeys) {
+            this.filter = new CuckooFilter(expectedKeys);
+        }
+
+        private boolean mightContain(String key) {
+            return overflowed || filter.mightContain(key);
+        }
+
+        private void add(String key) {
+            if (!overflowed && !filter.add(key)) {
+                overflowed = true;
+                log.warn("Availability filter is full at {} values; checks go to the database until the next rebuild",
+                        filter.size());
+            }
+        }
+
+        private long size() {
+            return filter.size();
+        }
+    }
+
+    private record Filters(Filter emails, Filter phones) {
+
+        private static Filters create(long expectedUsers) {
+            return new Filters(new Filter(expectedUsers), new Filter(expectedUsers));
+        }
+
+        private void add(String emailKey, String phoneKey) {
+            if (emailKey != null) {
+                emails.add(emailKey);
+            }
+            if (phoneKey != null) {
+                phones.add(phoneKey);
+            }
+        }
+    }
+}
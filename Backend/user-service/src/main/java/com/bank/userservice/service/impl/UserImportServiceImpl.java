@@ -0,0 +1,517 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserCreateDto;
+import com.bank.userservice.dto.UserImportResultDto;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.AvailabilityService;
+import com.bank.userservice.service.UserImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user creation for migrations, streamed from CSV or NDJSON in chunks of {@code chunk-size}
+ * records:
+ *
+ * <ol>
+ *   <li>Parse and validate, one chunk per worker.</li>
+ *   <li>Drop values already used earlier in the file. This step runs chunk by chunk in file order,
+ *       so the first occurrence always wins.</li>
+ *   <li>Look up the chunk's Keycloak ids, emails and phone numbers with one {@code IN} query each,
+ *       and insert the rest as one JDBC batch in its own transaction, one chunk per worker.</li>
+ * </ol>
+ *
+ * At most twice {@code threads} chunks are in flight, so memory does not grow with the file,
+ * except for the values seen so far (about 300 bytes a row); split files of more than a few
+ * million rows. Every rejected row gets a line in the error report. The lines are grouped by
+ * chunk, not in file order. Chunks commit independently: if an import stops half way, running the
+ * same file again imports the rest and reports the earlier rows as existing.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String INSERT_USER = "INSERT INTO users (keycloak_id, email, first_name, last_name, phone_number, "
+            + "address, is_premium, two_factor_enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+    private static final Pattern PHONE_NUMBER = Pattern.compile("\\+?[0-9]{7,15}");
+    private static final int MAX_LENGTH = 255;
+
+    // CSV header names, matched ignoring case, '_' and '-'
+    private static final Map<String, BiConsumer<UserCreateDto, String>> CSV_COLUMNS = Map.of(
+            "keycloakid", UserCreateDto::setKeycloakId,
+            "email", UserCreateDto::setEmail,
+            "firstname", UserCreateDto::setFirstName,
+            "lastname", UserCreateDto::setLastName,
+            "phonenumber", UserCreateDto::setPhoneNumber,
+            "address", UserCreateDto::setAddress);
+
+    private final UserRepository userRepository;
+    private final AvailabilityService availabilityService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int threads;
+    private final Path reportDir;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 AvailabilityService availabilityService,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.users.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${app.users.import.threads:4}") int threads,
+                                 @Value("${app.users.import.report-dir:${java.io.tmpdir}/user-imports}") Path reportDir) {
+        this.userRepository = userRepository;
+        this.availabilityService = availabilityService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.reportDir = reportDir;
+    }
+
+    @Override
+    public UserImportResultDto importUsers(InputStream input, Format format) {
+        String importId = UUID.randomUUID().toString();
+        long started = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("user-import-", 1).factory());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+             ErrorReport report = new ErrorReport(errorReport(importId))) {
+            Records records = new Records(reader, format);
+            Run run = new Run(format, format == Format.CSV ? csvColumns(records.next()) : null, report);
+
+            ArrayDeque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+            CompletableFuture<List<Row>> previous = CompletableFuture.completedFuture(List.of());
+            for (List<RawRecord> chunk = records.next(chunkSize); !chunk.isEmpty(); chunk = records.next(chunkSize)) {
+                List<RawRecord> raw = chunk;
+                run.rows.addAndGet(raw.size());
+                // thenCombine with the previous chunk keeps the dedupe step in file order
+                CompletableFuture<List<Row>> deduped = CompletableFuture.supplyAsync(() -> run.parse(raw), pool)
+                        .thenCombine(previous, (parsed, ignored) -> run.dedupe(parsed));
+                previous = deduped;
+                inFlight.add(deduped.thenAcceptAsync(run::store, pool));
+                while (inFlight.size() > 2 * threads) {
+                    inFlight.poll().join();
+                }
+            }
+            inFlight.forEach(CompletableFuture::join);
+
+            long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            UserImportResultDto result = new UserImportResultDto(importId, run.rows.get(), run.imported.get(),
+                    report.rejected.get(), elapsedMs, run.imported.get() * 1000 / elapsedMs);
+            log.info("User import {}: {} rows, {} imported, {} rejected, {}ms ({} users/s)", importId,
+                    result.getRows(), result.getImported(), result.getRejected(), elapsedMs, result.getUsersPerSecond());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("User import " + importId + " failed", e);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public Path errorReport(String importId) {
+        // Parsing as a UUID also keeps the id from naming a path outside the report directory
+        return reportDir.resolve("user-import-" + UUID.fromString(importId) + "-errors.csv");
+    }
+
+    private static Map<Integer, BiConsumer<UserCreateDto, String>> csvColumns(RawRecord header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import needs a header row");
+        }
+        Map<Integer, BiConsumer<UserCreateDto, String>> columns = new HashMap<>();
+        Set<String> names = new HashSet<>();
+        List<String> fields = splitCsv(header.text());
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+            BiConsumer<UserCreateDto, String> setter = CSV_COLUMNS.get(name);
+            if (setter == null || !names.add(name)) {
+                throw new IllegalArgumentException("Unknown or repeated CSV column: " + fields.get(i));
+            }
+            columns.put(i, setter);
+        }
+        if (!names.contains("keycloakid") || !names.contains("email")) {
+            throw new IllegalArgumentException("CSV import needs keycloakId and email columns");
+        }
+        return columns;
+    }
+
+    // RFC 4180 fields: quoted fields may hold commas, line breaks and doubled quotes
+    private static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);   // MySQL compares emails case-insensitively
+    }
+
+    /**
+     * The state of one import, shared by its chunks.
+     */
+    private final class Run {
+
+        private final Format format;
+        private final Map<Integer, BiConsumer<UserCreateDto, String>> csvColumns;
+        private final ErrorReport report;
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+
+        // First line of each value; only touched by dedupe, which runs one chunk at a time
+        private final Map<String, Long> keycloakIds = new HashMap<>();
+        private final Map<String, Long> emails = new HashMap<>();
+        private final Map<String, Long> phoneNumbers = new HashMap<>();
+
+        private Run(Format format, Map<Integer, BiConsumer<UserCreateDto, String>> csvColumns, ErrorReport report) {
+            this.format = format;
+            this.csvColumns = csvColumns;
+            this.report = report;
+        }
+
+        private List<Row> parse(List<RawRecord> records) {
+            List<Row> valid = new ArrayList<>(records.size());
+            for (RawRecord record : records) {
+                UserCreateDto user;
+                try {
+                    user = format == Format.CSV ? fromCsv(record.text()) : objectMapper.readValue(record.text(), UserCreateDto.class);
+                } catch (JacksonException | IllegalArgumentException e) {
+                    report.reject(record.line(), Map.of("record", format == Format.CSV ? e.getMessage() : "Malformed JSON"));
+                    continue;
+                }
+                Map<String, String> errors = normalizeAndValidate(user);
+                if (errors.isEmpty()) {
+                    valid.add(new Row(record.line(), user));
+                } else {
+                    report.reject(record.line(), errors);
+                }
+            }
+            return valid;
+        }
+
+        private UserCreateDto fromCsv(String text) {
+            List<String> fields = splitCsv(text);
+            if (fields.size() != csvColumns.size()) {
+                throw new IllegalArgumentException("Expected " + csvColumns.size() + " columns, found " + fields.size());
+            }
+            UserCreateDto user = new UserCreateDto();
+            csvColumns.forEach((index, setter) -> setter.accept(user, fields.get(index)));
+            return user;
+        }
+
+        private Map<String, String> normalizeAndValidate(UserCreateDto user) {
+            user.setKeycloakId(trimToNull(user.getKeycloakId()));
+            user.setEmail(trimToNull(user.getEmail()));
+            user.setFirstName(trimToNull(user.getFirstName()));
+            user.setLastName(trimToNull(user.getLastName()));
+            user.setPhoneNumber(trimToNull(user.getPhoneNumber()));
+            user.setAddress(trimToNull(user.getAddress()));
+
+            Map<String, String> errors = new LinkedHashMap<>();
+            if (user.getKeycloakId() == null) {
+                errors.put("keycloakId", "Keycloak ID is required");
+            }
+            if (user.getEmail() == null) {
+                errors.put("email", "Email is required");
+            } else if (!EMAIL.matcher(user.getEmail()).matches()) {
+                errors.put("email", "Invalid email");
+            }
+            if (user.getPhoneNumber() != null && !PHONE_NUMBER.matcher(user.getPhoneNumber()).matches()) {
+                errors.put("phoneNumber", "Invalid phone number");
+            }
+            checkLength(errors, "keycloakId", user.getKeycloakId());
+            checkLength(errors, "email", user.getEmail());
+            checkLength(errors, "firstName", user.getFirstName());
+            checkLength(errors, "lastName", user.getLastName());
+            checkLength(errors, "address", user.getAddress());
+            return errors;
+        }
+
+        private void checkLength(Map<String, String> errors, String field, String value) {
+            if (value != null && value.length() > MAX_LENGTH) {
+                errors.putIfAbsent(field, "Longer than " + MAX_LENGTH + " characters");
+            }
+        }
+
+        private List<Row> dedupe(List<Row> rows) {
+            List<Row> unique = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                UserCreateDto user = row.user();
+                // Only accepted rows claim their values, so a rejected line is never cited as the original
+                Map<String, String> errors = new LinkedHashMap<>();
+                duplicate(errors, "keycloakId", keycloakIds.get(user.getKeycloakId()));
+                duplicate(errors, "email", emails.get(emailKey(user.getEmail())));
+                if (user.getPhoneNumber() != null) {
+                    duplicate(errors, "phoneNumber", phoneNumbers.get(user.getPhoneNumber()));
+                }
+                if (errors.isEmpty()) {
+                    keycloakIds.put(user.getKeycloakId(), row.line());
+                    emails.put(emailKey(user.getEmail()), row.line());
+                    if (user.getPhoneNumber() != null) {
+                        phoneNumbers.put(user.getPhoneNumber(), row.line());
+                    }
+                    unique.add(row);
+                } else {
+                    report.reject(row.line(), errors);
+                }
+            }
+            return unique;
+        }
+
+        private void duplicate(Map<String, String> errors, String field, Long first) {
+            if (first != null) {
+                errors.put(field, "Duplicate of line " + first);
+            }
+        }
+
+        private void store(List<Row> rows) {
+            List<Row> fresh = new ArrayList<>(rows.size());
+            Taken taken = taken(rows);
+            for (Row row : rows) {
+                Map<String, String> errors = taken.of(row.user());
+                if (errors.isEmpty()) {
+                    fresh.add(row);
+                } else {
+                    report.reject(row.line(), errors);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return;
+            }
+
+            List<Row> inserted;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(fresh));
+                inserted = fresh;
+            } catch (DataIntegrityViolationException e) {
+                // Someone registered one of these values since the lookup; find which row it was
+                inserted = insertOneByOne(fresh);
+            }
+            for (Row row : inserted) {
+                availabilityService.onContactChanged(null, null, row.user().getEmail(), row.user().getPhoneNumber());
+            }
+            imported.addAndGet(inserted.size());
+        }
+
+        private Taken taken(List<Row> rows) {
+            Set<String> keycloakIds = new HashSet<>(userRepository.findKeycloakIdsIn(
+                    rows.stream().map(row -> row.user().getKeycloakId()).toList()));
+            Set<String> emails = userRepository.findEmailsIn(rows.stream().map(row -> row.user().getEmail()).toList())
+                    .stream().map(UserImportServiceImpl::emailKey).collect(Collectors.toSet());
+            List<String> phoneNumbers = rows.stream().map(row -> row.user().getPhoneNumber()).filter(phone -> phone != null).toList();
+            return new Taken(keycloakIds, emails,
+                    phoneNumbers.isEmpty() ? Set.of() : new HashSet<>(userRepository.findPhoneNumbersIn(phoneNumbers)));
+        }
+
+        private List<Row> insertOneByOne(List<Row> rows) {
+            List<Row> inserted = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                try {
+                    insert(List.of(row));
+                    inserted.add(row);
+                } catch (DataIntegrityViolationException e) {
+                    Map<String, String> errors = taken(List.of(row)).of(row.user());
+                    report.reject(row.line(), errors.isEmpty()
+                            ? Map.of("record", "Rejected by the database: " + e.getMostSpecificCause().getMessage())
+                            : errors);
+                }
+            }
+            return inserted;
+        }
+
+        private void insert(List<Row> rows) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_USER, rows, rows.size(), (PreparedStatement ps, Row row) -> bind(ps, row.user(), now));
+        }
+
+        private void bind(PreparedStatement ps, UserCreateDto user, Timestamp now) throws SQLException {
+            ps.setString(1, user.getKeycloakId());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getFirstName());
+            ps.setString(4, user.getLastName());
+            ps.setString(5, user.getPhoneNumber());
+            ps.setString(6, user.getAddress());
+            ps.setBoolean(7, false);
+            ps.setBoolean(8, false);
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        }
+    }
+
+    private record Taken(Set<String> keycloakIds, Set<String> emails, Set<String> phoneNumbers) {
+
+        private Map<String, String> of(UserCreateDto user) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            if (keycloakIds.contains(user.getKeycloakId())) {
+                errors.put("keycloakId", "User with this Keycloak ID already exists");
+            }
+            if (emails.contains(emailKey(user.getEmail()))) {
+                errors.put("email", "Email already exists");
+            }
+            if (user.getPhoneNumber() != null && phoneNumbers.contains(user.getPhoneNumber())) {
+                errors.put("phoneNumber", "Phone number already exists");
+            }
+            return errors;
+        }
+    }
+
+    private record RawRecord(long line, String text) {
+    }
+
+    private record Row(long line, UserCreateDto user) {
+    }
+
+    /**
+     * Reads records with their first line number, skipping blank lines. A CSV record continues
+     * onto the next line while it has an open quote.
+     */
+    private static final class Records {
+
+        private final BufferedReader reader;
+        private final Format format;
+        private long line;
+
+        private Records(BufferedReader reader, Format format) {
+            this.reader = reader;
+            this.format = format;
+        }
+
+        private List<RawRecord> next(int count) throws IOException {
+            List<RawRecord> records = new ArrayList<>(count);
+            RawRecord record;
+            while (records.size() < count && (record = next()) != null) {
+                records.add(record);
+            }
+            return records;
+        }
+
+        private RawRecord next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            long first = line;
+            if (format == Format.CSV) {
+                StringBuilder record = new StringBuilder(text);
+                String more;
+                while (quotes(record) % 2 == 1 && (more = reader.readLine()) != null) {
+                    line++;
+                    record.append('\n').append(more);
+                }
+                text = record.toString();
+            }
+            return new RawRecord(first, text);
+        }
+
+        private static long quotes(CharSequence text) {
+            return text.chars().filter(c -> c == '"').count();
+        }
+    }
+
+    /**
+     * CSV of {@code line,field,error}, one line per rejected field. Written to by every worker.
+     */
+    private static final class ErrorReport implements AutoCloseable {
+
+        private final BufferedWriter writer;
+        private final AtomicLong rejected = new AtomicLong();
+
+        private ErrorReport(Path file) throws IOException {
+            Files.createDirectories(file.getParent());
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write("line,field,error\n");
+        }
+
+        private synchronized void reject(long line, Map<String, String> errors) {
+            rejected.incrementAndGet();
+            try {
+                for (Map.Entry<String, String> error : errors.entrySet()) {
+                    writer.write(line + "," + error.getKey() + "," + quote(error.getValue()) + "\n");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String quote(String value) {
+            return "\"" + String.valueOf(value).replace("\"", "\"\"") + "\"";
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -1,39 +1,74 @@
 package com.bank.userservice.service.impl;
 
+import com.bank.userservice.cache.CurrentUserCache;
 import com.bank.userservice.dto.UserCreateDto;
 import com.bank.userservice.dto.UserResponseDto;
+import com.bank.userservice.dto.UserSummaryDto;
+import com.bank.userservice.exception.DuplicateUserException;
 import com.bank.userservice.model.User;
 import com.bank.userservice.exception.UserNotFoundException;
 import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.AvailabilityService;
 import com.bank.userservice.service.UserService;
-import lombok.RequiredArgsConstructor;
+import com.bank.userservice.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 @Service
-@RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final String KEYCLOAK_ID_TAKEN = "User with this Keycloak ID already exists";
+    private static final String EMAIL_TAKEN = "Email already exists";
+    private static final String PHONE_NUMBER_TAKEN = "Phone number already exists";
+
     private final UserRepository userRepository;
+    private final AvailabilityService availabilityService;
+    private final CurrentUserCache currentUserCache;
+    private final boolean precheckUniqueness;
+    private final int batchChunkSize;
+    private final int batchMaxIds;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           AvailabilityService availabilityService,
+                           CurrentUserCache currentUserCache,
+                           @Value("${app.users.registration.precheck:false}") boolean precheckUniqueness,
+                           @Value("${app.users.batch.chunk-size:500}") int batchChunkSize,
+                           @Value("${app.users.batch.max-ids:1000}") int batchMaxIds) {
+        this.userRepository = userRepository;
+        this.availabilityService = availabilityService;
+        this.currentUserCache = currentUserCache;
+        this.precheckUniqueness = precheckUniqueness;
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxIds = batchMaxIds;
+    }
 
+    // Not @Transactional: the insert commits on its own, so when it fails on a unique
+    // constraint the follow-up lookup in duplicateOf runs in a fresh transaction.
     @Override
-    @Transactional
     public UserResponseDto createUser(UserCreateDto dto) {
         if (dto.getKeycloakId() == null || dto.getKeycloakId().isBlank()) {
             throw new IllegalArgumentException("Keycloak ID is required");
         }
-
-        if (userRepository.existsByKeycloakId(dto.getKeycloakId())) {
-            throw new IllegalArgumentException("User with this Keycloak ID already exists");
-        }
-
-        if (userRepository.existsByEmail(dto.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-
-        if (dto.getPhoneNumber() != null && !dto.getPhoneNumber().isBlank() &&
-                userRepository.existsByPhoneNumber(dto.getPhoneNumber())) {
-            throw new IllegalArgumentException("Phone number already exists");
+        // A blank phone number means none; stored as "" it would collide with the next blank one
+        String phoneNumber = dto.getPhoneNumber() == null || dto.getPhoneNumber().isBlank() ? null : dto.getPhoneNumber();
+
+        // The unique constraints decide; the optional pre-check only saves a failed insert
+        if (precheckUniqueness) {
+            Map<String, String> taken = takenFields(dto.getKeycloakId(), dto.getEmail(), phoneNumber);
+            if (!taken.isEmpty()) {
+                throw new DuplicateUserException(taken);
+            }
         }
 
         User user = new User();
@@ -41,12 +76,44 @@ public class UserServiceImpl implements UserService {
         user.setFirstName(dto.getFirstName());
         user.setLastName(dto.getLastName());
         user.setEmail(dto.getEmail());
-        user.setPhoneNumber(dto.getPhoneNumber());
+        user.setPhoneNumber(phoneNumber);
         user.setAddress(dto.getAddress());
         // defaults are already set in entity
 
-        User saved = userRepository.save(user);
-        return mapToResponse(saved);
+        try {
+            User saved = userRepository.saveAndFlush(user);
+            availabilityService.onContactChanged(null, null, saved.getEmail(), saved.getPhoneNumber());
+            return mapToResponse(saved);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(user, e);
+        }
+    }
+
+    /**
+     * Turns a failed insert into field errors. The unique constraints keep the names Hibernate
+     * generated for them, so rather than parse those, one lookup finds the taken fields; this only
+     * runs on the failure path. Anything else, such as a missing email, is rethrown as is.
+     */
+    private RuntimeException duplicateOf(User user, DataIntegrityViolationException e) {
+        Map<String, String> taken = takenFields(user.getKeycloakId(), user.getEmail(), user.getPhoneNumber());
+        return taken.isEmpty() ? e : new DuplicateUserException(taken);
+    }
+
+    private Map<String, String> takenFields(String keycloakId, String email, String phoneNumber) {
+        Map<String, String> taken = new LinkedHashMap<>();
+        for (UserRepository.UniqueKeys existing : userRepository.findUniqueKeyConflicts(keycloakId, email, phoneNumber)) {
+            if (keycloakId.equals(existing.getKeycloakId())) {
+                taken.put("keycloakId", KEYCLOAK_ID_TAKEN);
+            }
+            // Emails compare like the unique index does on MySQL's default case-insensitive collation
+            if (email != null && email.equalsIgnoreCase(existing.getEmail())) {
+                taken.put("email", EMAIL_TAKEN);
+            }
+            if (phoneNumber != null && phoneNumber.equals(existing.getPhoneNumber())) {
+                taken.put("phoneNumber", PHONE_NUMBER_TAKEN);
+            }
+        }
+        return taken;
     }
 
     @Override
@@ -55,11 +122,10 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Keycloak ID cannot be empty");
         }
 
-        User user = userRepository.findByKeycloakId(keycloakId)
+        // Unknown ids throw out of the loader, so they are never cached
+        return currentUserCache.get(keycloakId, id -> mapToResponse(userRepository.findByKeycloakId(id)
                 .orElseThrow(() -> new UserNotFoundException(
-                        "User not found for keycloak id: " + keycloakId));
-
-        return mapToResponse(user);
+                        "User not found for keycloak id: " + id))));
     }
 
     @Override
@@ -74,6 +140,31 @@ public class UserServiceImpl implements UserService {
         return mapToResponse(user);
     }
 
+    /**
+     * Serves {@code POST /api/users/_batch}, so a listing of N accounts costs its caller one call
+     * instead of N {@code GET /api/users/{id}}. Ids are deduplicated and read as summaries with one
+     * {@code IN} query per {@code chunk-size} ids.
+     */
+    @Override
+    public List<UserSummaryDto> getUsersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.size() > batchMaxIds) {
+            throw new IllegalArgumentException("At most " + batchMaxIds + " user IDs per request");
+        }
+
+        List<Long> requested = new ArrayList<>(unique);
+        Map<Long, UserSummaryDto> found = new HashMap<>();
+        for (int from = 0; from < requested.size(); from += batchChunkSize) {
+            List<Long> chunk = requested.subList(from, Math.min(requested.size(), from + batchChunkSize));
+            userRepository.findSummariesByIdIn(chunk).forEach(user -> found.put(user.getId(), user));
+        }
+        return requested.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
     @Override
     @Transactional
     public UserResponseDto updateUser(Long id, UserCreateDto dto) {
@@ -83,6 +174,8 @@ public class UserServiceImpl implements UserService {
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        String oldEmail = user.getEmail();
+        String oldPhoneNumber = user.getPhoneNumber();
 
         if (dto.getFirstName() != null) {
             user.setFirstName(dto.getFirstName());
@@ -107,6 +200,8 @@ public class UserServiceImpl implements UserService {
         }
 
         User updated = userRepository.save(user);
+        availabilityService.onContactChanged(oldEmail, oldPhoneNumber, updated.getEmail(), updated.getPhoneNumber());
+        AfterCommit.run(() -> currentUserCache.invalidate(updated.getKeycloakId()));
         return mapToResponse(updated);
     }
 
@@ -117,11 +212,12 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Invalid user ID");
         }
 
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException("User not found with id: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        availabilityService.onContactChanged(user.getEmail(), user.getPhoneNumber(), null, null);
+        AfterCommit.run(() -> currentUserCache.invalidate(user.getKeycloakId()));
     }
 
     private UserResponseDto mapToResponse(User user) {
@@ -0,0 +1,155 @@
+package com.bank.userservice.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Approximate set of strings: {@link #mightContain} never misses a key that was added, and
+ * wrongly reports an absent key with probability about {@code 2 * SLOTS * load / 65536} (under
+ * 0.012% when full).
+ *
+ * <p>Each key is a 16-bit fingerprint stored in one of two buckets of {@value #SLOTS} slots. The
+ * second bucket is derived from the first and the fingerprint alone, {@code (h(fp) - i) mod n},
+ * which works for any bucket count, so the table is sized to the expected keys instead of the next
+ * power of two. That is about 2.1 bytes per key at the 95% load the table is sized for.
+ *
+ * <p>Not thread-safe; callers guard it with a read/write lock.
+ */
+public class CuckooFilter {
+
+    public static final int SLOTS = 4;
+    private static final double TARGET_LOAD = 0.95;
+    private static final int MAX_KICKS = 500;
+
+    private final char[] table;             // 0 marks an empty slot, so fingerprints are 1..65535
+    private final int buckets;
+    private long size;
+    private int victimSeed;
+
+    public CuckooFilter(long expectedKeys) {
+        long buckets = bucketsFor(expectedKeys);
+        if (buckets * SLOTS > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many keys for one filter: " + expectedKeys);
+        }
+        this.buckets = (int) buckets;
+        this.table = new char[this.buckets * SLOTS];
+    }
+
+    /**
+     * Heap used by a filter sized for {@code expectedKeys}, without allocating it.
+     */
+    public static long bytesFor(long expectedKeys) {
+        return bucketsFor(expectedKeys) * SLOTS * Character.BYTES;
+    }
+
+    private static long bucketsFor(long expectedKeys) {
+        return Math.max(1, (long) Math.ceil(expectedKeys / (SLOTS * TARGET_LOAD)));
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        char fp = fingerprint(hash);
+        int i1 = index(hash);
+        return bucketHas(i1, fp) || bucketHas(alternate(i1, fp), fp);
+    }
+
+    /**
+     * A key whose fingerprint is already in one of its buckets is not stored again.
+     *
+     * @return false when the table is too full to place the key; it stays missing
+     */
+    public boolean add(String key) {
+        long hash = hash(key);
+        char fp = fingerprint(hash);
+        int i1 = index(hash);
+        int i2 = alternate(i1, fp);
+        if (bucketHas(i1, fp) || bucketHas(i2, fp)) {
+            return true;
+        }
+        if (place(i1, fp) || place(i2, fp)) {
+            size++;
+            return true;
+        }
+
+        // Both buckets full: evict fingerprints along a chain until one finds room
+        int index = (victimSeed++ & 1) == 0 ? i1 : i2;
+        char carried = fp;
+        int[] path = new int[MAX_KICKS];
+        char[] displaced = new char[MAX_KICKS];
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = index * SLOTS + Math.floorMod(victimSeed++, SLOTS);
+            path[kick] = slot;
+            displaced[kick] = table[slot];
+            table[slot] = carried;
+            carried = displaced[kick];
+            index = alternate(index, carried);
+            if (place(index, carried)) {
+                size++;
+                return true;
+            }
+        }
+        // Undo the chain so no fingerprint that was in the table is lost
+        for (int kick = MAX_KICKS - 1; kick >= 0; kick--) {
+            table[path[kick]] = displaced[kick];
+        }
+        return false;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    private boolean bucketHas(int bucket, char fp) {
+        int base = bucket * SLOTS;
+        for (int s = 0; s < SLOTS; s++) {
+            if (table[base + s] == fp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean place(int bucket, char fp) {
+        int base = bucket * SLOTS;
+        for (int s = 0; s < SLOTS; s++) {
+            if (table[base + s] == 0) {
+                table[base + s] = fp;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int index(long hash) {
+        return (int) Long.remainderUnsigned(hash, buckets);
+    }
+
+    // Its own inverse: alternate(alternate(i, fp), fp) == i
+    private int alternate(int bucket, char fp) {
+        long h = mix(fp * 0x9E3779B97F4A7C15L);
+        return (int) Math.floorMod(Long.remainderUnsigned(h, buckets) - bucket, (long) buckets);
+    }
+
+    private static char fingerprint(long hash) {
+        char fp = (char) (hash >>> 48);
+        return fp == 0 ? 1 : fp;
+    }
+
+    // FNV-1a over the UTF-8 bytes, then a finalizer so all 64 bits are well mixed
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93e1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
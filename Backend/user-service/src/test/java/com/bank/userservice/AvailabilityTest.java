@@ -0,0 +1,123 @@
+package com.bank.userservice;
+
+import com.bank.userservice.cache.ContactChangeChannel;
+import com.bank.userservice.dto.UserCreateDto;
+import com.bank.userservice.dto.UserResponseDto;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.AvailabilityService;
+import com.bank.userservice.service.UserService;
+import com.bank.userservice.service.impl.AvailabilityServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.unit.DataSize;
+
+import static com.bank.userservice.UserRegistrationTest.dto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AvailabilityTest {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ContactChangeChannel contactChangeChannel;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        ((AvailabilityServiceImpl) availabilityService).rebuild();
+    }
+
+    @Test
+    void check_shouldFollowCreateUpdateAndDelete() {
+        UserResponseDto user = userService.createUser(dto("kc-1", "Taken@bank.test", "+251900000001"));
+
+        assertThat(availabilityService.check("Taken@bank.test", "+251900000001").getEmailAvailable()).isFalse();
+        assertThat(availabilityService.check(null, "+251900000001").getPhoneNumberAvailable()).isFalse();
+        assertThat(availabilityService.check("free@bank.test", null).getEmailAvailable()).isTrue();
+
+        UserCreateDto change = new UserCreateDto();
+        change.setEmail("moved@bank.test");
+        userService.updateUser(user.getId(), change);
+        assertThat(availabilityService.check("Taken@bank.test", null).getEmailAvailable()).isTrue();
+        assertThat(availabilityService.check("moved@bank.test", null).getEmailAvailable()).isFalse();
+
+        userService.deleteUser(user.getId());
+        assertThat(availabilityService.check("moved@bank.test", "+251900000001"))
+                .satisfies(result -> {
+                    assertThat(result.getEmailAvailable()).isTrue();
+                    assertThat(result.getPhoneNumberAvailable()).isTrue();
+                });
+    }
+
+    @Test
+    void check_shouldAnswerFreeValuesWithoutTheDatabase() {
+        userService.createUser(dto("kc-1", "a@bank.test", null));
+        double filteredBefore = meterRegistry.counter("user.availability.checks", "field", "email", "result", "filtered").count();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(availabilityService.check("free" + i + "@bank.test", null).getEmailAvailable()).isTrue();
+        }
+
+        double filtered = meterRegistry.counter("user.availability.checks", "field", "email", "result", "filtered").count();
+        assertThat(filtered - filteredBefore).isGreaterThanOrEqualTo(99);
+        assertThat(meterRegistry.get("user.availability.filter.false-positive-rate")
+                .tags("field", "email").gauge().value()).isLessThan(0.01);
+    }
+
+    @Test
+    void syncNewUsers_shouldNotStoreValuesTwice() {
+        userService.createUser(dto("kc-1", "a@bank.test", "+251900000001"));
+
+        ((AvailabilityServiceImpl) availabilityService).syncNewUsers();
+
+        assertThat(meterRegistry.get("user.availability.filter.size").tags("field", "email").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.availability.filter.size").tags("field", "phoneNumber").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void onContactChanged_shouldReachOtherInstancesOnTheChannel() {
+        UserResponseDto user = userService.createUser(dto("kc-1", "a@bank.test", null));
+        MeterRegistry otherMeters = new SimpleMeterRegistry();
+        AvailabilityServiceImpl other = new AvailabilityServiceImpl(userRepository, contactChangeChannel,
+                otherMeters, true, 1000, DataSize.ofMegabytes(16), 100);
+        other.rebuild();
+
+        UserCreateDto change = new UserCreateDto();
+        change.setEmail("moved@bank.test");
+        change.setPhoneNumber("+251900000001");
+        userService.updateUser(user.getId(), change);
+
+        // The old email stays until a rebuild; only the new values are added
+        assertThat(otherMeters.get("user.availability.filter.size").tags("field", "email").gauge().value()).isEqualTo(2);
+        assertThat(otherMeters.get("user.availability.filter.size").tags("field", "phoneNumber").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_shouldLoadUsersSavedBeforeIt() {
+        userService.createUser(dto("kc-1", "a@bank.test", "+251900000001"));
+        userService.createUser(dto("kc-2", "b@bank.test", null));
+
+        ((AvailabilityServiceImpl) availabilityService).rebuild();
+
+        assertThat(availabilityService.check("b@bank.test", "+251900000001"))
+                .satisfies(result -> {
+                    assertThat(result.getEmailAvailable()).isFalse();
+                    assertThat(result.getPhoneNumberAvailable()).isFalse();
+                });
+    }
+}
@@ -0,0 +1,64 @@
+package com.bank.userservice;
+
+import com.bank.userservice.util.CuckooFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CuckooFilterTest {
+
+    @Test
+    void filledToCapacity_shouldKeepEveryKey_andRarelyMatchOthers() {
+        int keys = 1_000_000;
+        CuckooFilter filter = new CuckooFilter(keys);
+        for (int i = 0; i < keys; i++) {
+            assertThat(filter.add("user" + i + "@bank.test")).isTrue();
+        }
+
+        for (int i = 0; i < keys; i++) {
+            assertThat(filter.mightContain("user" + i + "@bank.test")).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = keys; i < 2 * keys; i++) {
+            if (filter.mightContain("user" + i + "@bank.test")) {
+                falsePositives++;
+            }
+        }
+        // 2 * 4 * 0.95 / 65536 is about 0.0116%
+        assertThat((double) falsePositives / keys).isLessThan(0.00025);
+    }
+
+    @Test
+    void add_shouldStoreARepeatedKeyOnce() {
+        CuckooFilter filter = new CuckooFilter(1000);
+        filter.add("+2519" + 5);
+        filter.add("+2519" + 5);
+
+        assertThat(filter.size()).isEqualTo(1);
+        assertThat(filter.mightContain("+2519" + 5)).isTrue();
+    }
+
+    @Test
+    void add_shouldRefuseWhenFull_withoutLosingStoredKeys() {
+        CuckooFilter filter = new CuckooFilter(100);
+        int added = 0;
+        while (filter.add("key" + added)) {
+            added++;
+        }
+
+        assertThat(added).isGreaterThanOrEqualTo(100);
+        for (int i = 0; i < added; i++) {
+            assertThat(filter.mightContain("key" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void bytesFor_shouldFitFiftyMillionUsersInTheDefaultBudget() {
+        long bytes = CuckooFilter.bytesFor(50_000_000);
+
+        assertThat(DataSize.ofBytes(bytes).toMegabytes()).isLessThan(110);
+        // Emails and phone numbers, doubled while a rebuild runs
+        assertThat(4 * bytes).isLessThan(DataSize.ofMegabytes(512).toBytes());
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.userservice;
+
+import com.bank.userservice.cache.CurrentUserCache;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static com.bank.userservice.UserRegistrationTest.dto;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Latency of {@code GET /api/users/me}, through the full MVC and security stack and at the service
+ * alone, with the near cache and with every request going to the database. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=CurrentUserBenchmark -Dbench.me-requests=20000
+ * </pre>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "bench.me-requests", matches = "\\d+")
+class CurrentUserBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrentUserCache currentUserCache;
+
+    @Test
+    void meLatency() throws Exception {
+        int requests = Integer.parseInt(System.getProperty("bench.me-requests"));
+        userRepository.deleteAll();
+        for (int i = 0; i < USERS; i++) {
+            userService.createUser(dto("bench-me-" + i, "bench-me-" + i + "@bank.test", null));
+        }
+
+        for (int round = 0; round < 3; round++) {     // the first round is JIT warm-up
+            report("http", "cached", run(requests, false));
+            report("http", "database", run(requests, true));
+            report("service", "cached", runService(requests, false));
+            report("service", "database", runService(requests, true));
+        }
+    }
+
+    // The same lookups without MockMvc and security, to show what the cache itself costs
+    private long[] runService(int requests, boolean invalidateFirst) {
+        long[] nanos = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            String keycloakId = "bench-me-" + (i % USERS);
+            if (invalidateFirst) {
+                currentUserCache.invalidate(keycloakId);
+            }
+            long start = System.nanoTime();
+            userService.getCurrentUser(keycloakId);
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private long[] run(int requests, boolean invalidateFirst) throws Exception {
+        long[] nanos = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            String keycloakId = "bench-me-" + (i % USERS);
+            if (invalidateFirst) {
+                currentUserCache.invalidate(keycloakId);
+            }
+            long start = System.nanoTime();
+            mockMvc.perform(get("/api/users/me").with(jwt().jwt(token -> token.subject(keycloakId))))
+                    .andExpect(status().isOk());
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private static void report(String layer, String mode, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("[bench] /me %-7s %-8s p50=%6.3fms p99=%6.3fms p99.9=%6.3fms%n", layer, mode,
+                nanos[nanos.length / 2] / 1e6, nanos[(int) (nanos.length * 0.99)] / 1e6, nanos[(int) (nanos.length * 0.999)] / 1e6);
+    }
+}
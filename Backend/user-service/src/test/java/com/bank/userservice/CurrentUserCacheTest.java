@@ -0,0 +1,98 @@
+package com.bank.userservice;
+
+import com.bank.userservice.cache.CurrentUserCache;
+import com.bank.userservice.cache.InProcessUserInvalidationChannel;
+import com.bank.userservice.dto.UserCreateDto;
+import com.bank.userservice.dto.UserResponseDto;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bank.userservice.UserRegistrationTest.dto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CurrentUserCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getCurrentUser_shouldServeRepeatsFromCache_untilTheUserChanges() {
+        UserResponseDto created = userService.createUser(dto("kc-me", "me@bank.test", null));
+        double hitsBefore = hits();
+
+        userService.getCurrentUser("kc-me");
+        assertThat(userService.getCurrentUser("kc-me").getFirstName()).isEqualTo("Test");
+        assertThat(hits() - hitsBefore).isEqualTo(1);
+
+        UserCreateDto change = new UserCreateDto();
+        change.setFirstName("Renamed");
+        userService.updateUser(created.getId(), change);
+
+        assertThat(userService.getCurrentUser("kc-me").getFirstName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void invalidate_shouldReachEveryCacheOnTheChannel() {
+        InProcessUserInvalidationChannel channel = new InProcessUserInvalidationChannel();
+        CurrentUserCache replicaA = newCache(channel);
+        CurrentUserCache replicaB = newCache(channel);
+        AtomicInteger loads = new AtomicInteger();
+
+        replicaA.get("kc-1", id -> profile(id, "v" + loads.incrementAndGet()));
+        replicaB.get("kc-1", id -> profile(id, "v" + loads.incrementAndGet()));
+        replicaA.invalidate("kc-1");
+
+        assertThat(replicaB.get("kc-1", id -> profile(id, "fresh")).getFirstName()).isEqualTo("fresh");
+        assertThat(replicaA.get("kc-1", id -> profile(id, "fresh")).getFirstName()).isEqualTo("fresh");
+    }
+
+    @Test
+    void get_shouldNotKeepALoadThatOverlappedAnInvalidation() {
+        CurrentUserCache cache = newCache(new InProcessUserInvalidationChannel());
+
+        // The update commits after the loader has read the old profile
+        cache.get("kc-1", id -> {
+            UserResponseDto stale = profile(id, "old");
+            cache.invalidate(id);
+            return stale;
+        });
+
+        assertThat(cache.get("kc-1", id -> profile(id, "new")).getFirstName()).isEqualTo("new");
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tags("cache", "user.me", "result", "hit").functionCounter().count();
+    }
+
+    private static CurrentUserCache newCache(InProcessUserInvalidationChannel channel) {
+        return new CurrentUserCache(channel, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+    }
+
+    private static UserResponseDto profile(String keycloakId, String firstName) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setKeycloakId(keycloakId);
+        dto.setFirstName(firstName);
+        return dto;
+    }
+}
@@ -0,0 +1,113 @@
+package com.bank.userservice;
+
+import com.bank.userservice.cache.CurrentUserCache;
+import com.bank.userservice.dto.UserCreateDto;
+import com.bank.userservice.model.User;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.AvailabilityService;
+import com.bank.userservice.service.UserService;
+import com.bank.userservice.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registrations per second against the configured database: the old three {@code exists} queries
+ * plus insert, the single insert, and the single insert behind the combined pre-check. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=RegistrationBenchmark -Dbench.registrations=20000 -Dbench.threads=16
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.registrations", matches = "\\d+")
+class RegistrationBenchmark {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private CurrentUserCache currentUserCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void registrationsPerSecond() throws Exception {
+        int registrations = Integer.parseInt(System.getProperty("bench.registrations"));
+        int threads = Integer.parseInt(System.getProperty("bench.threads", "16"));
+        UserService withPrecheck = new UserServiceImpl(userRepository, availabilityService, currentUserCache, true, 500, 1000);
+
+        run("warm-up", this::existsThenInsert, registrations / 4, threads);
+        run("warm-up", userService::createUser, registrations / 4, threads);
+        for (int round = 0; round < 2; round++) {
+            report("exists x3 + insert", run("before", this::existsThenInsert, registrations, threads), registrations);
+            report("insert only", run("after", userService::createUser, registrations, threads), registrations);
+            report("pre-check + insert", run("after", withPrecheck::createUser, registrations, threads), registrations);
+        }
+    }
+
+    // createUser as it was: one round trip per unique field, then the insert
+    private void existsThenInsert(UserCreateDto dto) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.existsByKeycloakId(dto.getKeycloakId())
+                    || userRepository.existsByEmail(dto.getEmail())
+                    || userRepository.existsByPhoneNumber(dto.getPhoneNumber())) {
+                throw new IllegalArgumentException("duplicate");
+            }
+            User user = new User();
+            user.setKeycloakId(dto.getKeycloakId());
+            user.setFirstName(dto.getFirstName());
+            user.setLastName(dto.getLastName());
+            user.setEmail(dto.getEmail());
+            user.setPhoneNumber(dto.getPhoneNumber());
+            userRepository.save(user);
+        });
+    }
+
+    private long run(String label, Consumer<UserCreateDto> register, int registrations, int threads) throws Exception {
+        long before = userRepository.count();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(registrations);
+            for (int i = 0; i < registrations; i++) {
+                int n = SEQUENCE.incrementAndGet();
+                futures.add(pool.submit(() -> register.accept(UserRegistrationTest.dto(
+                        label + "-" + n, label + "-" + n + "@bank.test", "+2519" + String.format("%08d", n)))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            assertThat(userRepository.count()).isEqualTo(before + registrations);
+            return elapsed;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void report(String mode, long elapsedNanos, int registrations) {
+        System.out.printf("[bench] %-20s %8.0f registrations/s%n", mode, registrations / (elapsedNanos / 1e9));
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.userservice;
+
+import com.bank.userservice.dto.UserImportResultDto;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Latency of {@code POST /api/users/_batch} for 1, 100 and 1000 ids through the MVC and security
+ * stack, next to the same users fetched with one {@code GET /api/users/{id}} each. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=UserBatchBenchmark -Dbench.batch-requests=200
+ * </pre>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "bench.batch-requests", matches = "\\d+")
+class UserBatchBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void batchLatency() throws Exception {
+        int requests = Integer.parseInt(System.getProperty("bench.batch-requests"));
+        userRepository.deleteAll();
+        StringBuilder csv = new StringBuilder("keycloakId,email,firstName,lastName\n");
+        for (int i = 0; i < USERS; i++) {
+            csv.append("bench-batch-").append(i).append(",bench-batch-").append(i).append("@bank.test,Test,User\n");
+        }
+        UserImportResultDto imported = userImportService.importUsers(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+        assertThat(imported.getImported()).isEqualTo(USERS);
+        List<Long> ids = userRepository.findAll().stream().map(user -> user.getId()).toList();
+
+        for (int round = 0; round < 2; round++) {     // the first round is JIT warm-up
+            for (int size : new int[]{1, 100, 1000}) {
+                report("batch", size, batch(ids, size, requests));
+            }
+            for (int size : new int[]{1, 100}) {
+                report("one by one", size, oneByOne(ids, size, Math.max(1, requests / size)));
+            }
+        }
+    }
+
+    private long[] batch(List<Long> ids, int size, int requests) throws Exception {
+        long[] nanos = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            String body = "{\"ids\":[" + slice(ids, size, i).stream().map(String::valueOf).collect(Collectors.joining(",")) + "]}";
+            long start = System.nanoTime();
+            mockMvc.perform(post("/api/users/_batch").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_SERVICE"))).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    // What a caller without the batch endpoint has to do
+    private long[] oneByOne(List<Long> ids, int size, int requests) throws Exception {
+        long[] nanos = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            List<Long> slice = slice(ids, size, i);
+            long start = System.nanoTime();
+            for (Long id : slice) {
+                mockMvc.perform(get("/api/users/" + id).with(jwt())).andExpect(status().isOk());
+            }
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private static List<Long> slice(List<Long> ids, int size, int request) {
+        int from = (request * size) % (ids.size() - size + 1);
+        return ids.subList(from, from + size);
+    }
+
+    private static void report(String mode, int size, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("[bench] %-10s %4d ids p50=%7.3fms p99=%7.3fms%n", mode, size,
+                nanos[nanos.length / 2] / 1e6, nanos[(int) (nanos.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bank.userservice;
+
+import com.bank.userservice.dto.UserSummaryDto;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.bank.userservice.UserRegistrationTest.dto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A chunk size of 2 makes every lookup below span several IN queries
+@SpringBootTest(properties = {"app.users.batch.chunk-size=2", "app.users.batch.max-ids=5"})
+@AutoConfigureMockMvc
+class UserBatchLookupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUsersByIds_shouldReturnFoundUsersInRequestOrder() {
+        Long first = userService.createUser(dto("kc-1", "one@bank.test", null)).getId();
+        Long second = userService.createUser(dto("kc-2", "two@bank.test", null)).getId();
+        Long third = userService.createUser(dto("kc-3", "three@bank.test", null)).getId();
+
+        List<UserSummaryDto> users = userService.getUsersByIds(Arrays.asList(third, -1L, first, null, third, second));
+
+        assertThat(users).extracting(UserSummaryDto::getId).containsExactly(third, first, second);
+        assertThat(users.get(1)).isEqualTo(new UserSummaryDto(first, "Test", "User", "one@bank.test"));
+    }
+
+    @Test
+    void getUsersByIds_shouldAcceptNoIds_andRejectTooMany() {
+        assertThat(userService.getUsersByIds(List.of())).isEmpty();
+        assertThat(userService.getUsersByIds(null)).isEmpty();
+        assertThatThrownBy(() -> userService.getUsersByIds(List.of(1L, 2L, 3L, 4L, 5L, 6L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void batchEndpoint_shouldNeedAServiceOrAdminRole() throws Exception {
+        String body = "{\"ids\":[1,2]}";
+
+        mockMvc.perform(post("/api/users/_batch").with(jwt()).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/users/_batch").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_SERVICE")))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+}
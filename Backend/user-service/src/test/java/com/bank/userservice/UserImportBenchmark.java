@@ -0,0 +1,67 @@
+package com.bank.userservice;
+
+import com.bank.userservice.dto.UserImportResultDto;
+import com.bank.userservice.service.UserImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Users per second through the bulk import, from a generated CSV file against the configured
+ * database. Opt-in:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=UserImportBenchmark -Dbench.import-users=500000 -Dapp.users.import.threads=8
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.import-users", matches = "\\d+")
+class UserImportBenchmark {
+
+    // Keeps values unique across runs against a persistent database
+    private static final long RUN = System.currentTimeMillis() / 1000 % 1000;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Test
+    void usersPerSecond() throws Exception {
+        int users = Integer.parseInt(System.getProperty("bench.import-users"));
+
+        importFile(0, users / 4);      // JIT
+        for (int round = 1; round <= 3; round++) {
+            UserImportResultDto result = importFile(round, users);
+            assertThat(result.getImported()).isEqualTo(users);
+            System.out.printf("[bench] import %d users in %dms: %d users/s%n",
+                    users, result.getElapsedMs(), result.getUsersPerSecond());
+        }
+    }
+
+    private UserImportResultDto importFile(int round, int users) throws Exception {
+        String prefix = "bench-" + RUN + "-" + round;
+        Path file = Files.createTempFile("user-import-bench", ".csv");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("keycloakId,email,firstName,lastName,phoneNumber,address\n");
+                for (int i = 0; i < users; i++) {
+                    writer.write(prefix + "-" + i + "," + prefix + "." + i + "@bank.test,Test,User,"
+                            + String.format("+9%03d%d%09d", RUN, round, i) + ",\"Bole, Addis Ababa\"\n");
+                }
+            }
+            try (InputStream input = Files.newInputStream(file)) {
+                return userImportService.importUsers(input, UserImportService.Format.CSV);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.bank.userservice;
+
+import com.bank.userservice.config.KeycloakRealmRoleConverter;
+import com.bank.userservice.dto.UserImportResultDto;
+import com.bank.userservice.model.User;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.AvailabilityService;
+import com.bank.userservice.service.UserImportService;
+import com.bank.userservice.service.UserService;
+import com.bank.userservice.service.impl.AvailabilityServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static com.bank.userservice.UserRegistrationTest.dto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A chunk size of 2 spreads every file below over several chunks and workers
+@SpringBootTest(properties = {"app.users.import.chunk-size=2", "app.users.import.threads=3"})
+@AutoConfigureMockMvc
+class UserImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        ((AvailabilityServiceImpl) availabilityService).rebuild();
+    }
+
+    @Test
+    void importUsers_shouldInsertValidCsvRows_andReportEveryRejectedOne() throws Exception {
+        userService.createUser(dto("kc-existing", "existing@bank.test", "+251900000099"));
+        String csv = """
+                Keycloak_Id,email,first_name,last_name,phone_number,address
+                kc-1,one@bank.test,Abebe,Kebede,+251900000001,"Bole, Addis Ababa"
+                kc-2,two@bank.test,"Sara ""S"" T",Tesfaye,,
+
+                kc-3,not-an-email,Hana,Girma,+251900000003,
+                kc-1,four@bank.test,Dawit,Alemu,+251900000004,
+                kc-5,existing@bank.test,Liya,Bekele,+251900000005,
+                kc-6,six@bank.test,Yonas,Haile,+251900000001,
+                kc-7,seven@bank.test,Meron,"Multi
+                Line",+251900000007,
+                kc-8,eight@bank.test,too,few
+                """;
+
+        UserImportResultDto result = importCsv(csv);
+
+        assertThat(result.getRows()).isEqualTo(8);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(5);
+        assertThat(userRepository.findAll()).extracting(User::getKeycloakId)
+                .containsExactlyInAnyOrder("kc-existing", "kc-1", "kc-2", "kc-7");
+        User second = userRepository.findByKeycloakId("kc-2").orElseThrow();
+        assertThat(second.getFirstName()).isEqualTo("Sara \"S\" T");
+        assertThat(second.getPhoneNumber()).isNull();
+        assertThat(userRepository.findByKeycloakId("kc-1").orElseThrow().getAddress()).isEqualTo("Bole, Addis Ababa");
+        assertThat(userRepository.findByKeycloakId("kc-7").orElseThrow().getLastName()).isEqualTo("Multi\nLine");
+
+        List<String> report = Files.readAllLines(userImportService.errorReport(result.getImportId()));
+        assertThat(report.get(0)).isEqualTo("line,field,error");
+        assertThat(report.subList(1, report.size())).containsExactlyInAnyOrder(
+                "5,email,\"Invalid email\"",
+                "6,keycloakId,\"Duplicate of line 2\"",
+                "7,email,\"Email already exists\"",
+                "8,phoneNumber,\"Duplicate of line 2\"",
+                "11,record,\"Expected 6 columns, found 4\"");
+    }
+
+    @Test
+    void importUsers_shouldNotCiteRejectedRowsAsTheOriginal() throws Exception {
+        String csv = """
+                keycloakId,email,phoneNumber
+                kc-1,one@bank.test,+251900000001
+                kc-1,two@bank.test,+251900000002
+                kc-3,two@bank.test,+251900000002
+                """;
+
+        UserImportResultDto result = importCsv(csv);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(Files.readAllLines(userImportService.errorReport(result.getImportId())))
+                .containsExactly("line,field,error", "3,keycloakId,\"Duplicate of line 2\"");
+        assertThat(userRepository.findByKeycloakId("kc-3").orElseThrow().getEmail()).isEqualTo("two@bank.test");
+    }
+
+    @Test
+    void importUsers_shouldReadNdjson_andUpdateAvailability() throws Exception {
+        String ndjson = """
+                {"keycloakId":"kc-1","email":"one@bank.test","phoneNumber":"+251900000001","firstName":"Abebe"}
+                {"keycloakId":"kc-2","email":"two@bank.test"}
+                {"keycloakId":"kc-3","email":
+                {"email":"four@bank.test"}
+                """;
+
+        UserImportResultDto result = userImportService.importUsers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(Files.readAllLines(userImportService.errorReport(result.getImportId())))
+                .contains("3,record,\"Malformed JSON\"", "4,keycloakId,\"Keycloak ID is required\"");
+        assertThat(availabilityService.check("one@bank.test", "+251900000001").getEmailAvailable()).isFalse();
+        assertThat(availabilityService.check(null, "+251900000001").getPhoneNumberAvailable()).isFalse();
+    }
+
+    @Test
+    void importUsers_shouldSkipRowsImportedByAnEarlierRun() throws Exception {
+        String csv = "keycloakId,email\nkc-1,one@bank.test\nkc-2,two@bank.test\n";
+        importCsv("keycloakId,email\nkc-1,one@bank.test\n");
+
+        UserImportResultDto rerun = importCsv(csv);
+
+        assertThat(rerun.getImported()).isEqualTo(1);
+        assertThat(rerun.getRejected()).isEqualTo(1);
+        assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importUsers_shouldRejectUnknownColumnsAndFormats() {
+        assertThatThrownBy(() -> importCsv("keycloakId,email,password\nkc-1,one@bank.test,secret\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserImportService.Format.of("application/json"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(UserImportService.Format.of("text/csv;charset=UTF-8")).isEqualTo(UserImportService.Format.CSV);
+        assertThat(UserImportService.Format.of("users.jsonl")).isEqualTo(UserImportService.Format.NDJSON);
+    }
+
+    @Test
+    void importEndpoints_shouldNeedAnAdminOrMigrationRole() throws Exception {
+        String csv = "keycloakId,email\nkc-1,one@bank.test\n";
+
+        mockMvc.perform(post("/api/users/_import").with(jwt()).contentType("text/csv").content(csv))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/users/_import").with(migration()).contentType("text/csv").content(csv))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/_import/not-an-id/errors").with(migration()))
+                .andExpect(status().isNotFound());
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    private static RequestPostProcessor migration() {
+        return jwt().jwt(token -> token.claim("realm_access", Map.of("roles", List.of("migration"))))
+                .authorities(new KeycloakRealmRoleConverter());
+    }
+
+    private UserImportResultDto importCsv(String csv) {
+        return userImportService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+    }
+}
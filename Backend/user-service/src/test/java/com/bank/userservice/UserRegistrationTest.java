@@ -0,0 +1,71 @@
+package com.bank.userservice;
+
+import com.bank.userservice.dto.UserCreateDto;
+import com.bank.userservice.exception.DuplicateUserException;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class UserRegistrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createUser_shouldReportEachTakenField() {
+        userService.createUser(dto("kc-1", "a@bank.test", "+251900000001"));
+
+        assertThatThrownBy(() -> userService.createUser(dto("kc-1", "b@bank.test", null)))
+                .isInstanceOfSatisfying(DuplicateUserException.class, e ->
+                        assertThat(e.getFieldErrors()).containsOnlyKeys("keycloakId"));
+        assertThatThrownBy(() -> userService.createUser(dto("kc-2", "a@bank.test", null)))
+                .isInstanceOfSatisfying(DuplicateUserException.class, e ->
+                        assertThat(e.getFieldErrors()).containsOnlyKeys("email"));
+        assertThatThrownBy(() -> userService.createUser(dto("kc-3", "c@bank.test", "+251900000001")))
+                .isInstanceOfSatisfying(DuplicateUserException.class, e ->
+                        assertThat(e.getFieldErrors()).containsOnlyKeys("phoneNumber"));
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createUser_shouldTreatBlankPhoneNumbersAsAbsent() {
+        userService.createUser(dto("kc-1", "a@bank.test", ""));
+        userService.createUser(dto("kc-2", "b@bank.test", " "));
+
+        assertThat(userRepository.findAll()).allSatisfy(user -> assertThat(user.getPhoneNumber()).isNull());
+    }
+
+    @Test
+    void findUniqueKeyConflicts_shouldFindAllTakenValuesInOneQuery() {
+        userService.createUser(dto("kc-1", "a@bank.test", "+251900000001"));
+        userService.createUser(dto("kc-2", "b@bank.test", "+251900000002"));
+
+        assertThat(userRepository.findUniqueKeyConflicts("kc-1", "b@bank.test", "+251900000009")).hasSize(2);
+        assertThat(userRepository.findUniqueKeyConflicts("kc-9", "z@bank.test", null)).isEmpty();
+    }
+
+    static UserCreateDto dto(String keycloakId, String email, String phoneNumber) {
+        UserCreateDto dto = new UserCreateDto();
+        dto.setKeycloakId(keycloakId);
+        dto.setEmail(email);
+        dto.setPhoneNumber(phoneNumber);
+        dto.setFirstName("Test");
+        dto.setLastName("User");
+        return dto;
+    }
+}
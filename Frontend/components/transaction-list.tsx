@@ -72,6 +72,10 @@ export function TransactionList() {
     loading, 
     error, 
     hasActiveFilters,
+    hasMore,
+    loadingMore,
+    loadMore,
+    filters,
     refetch 
   } = useTransactions()
   const [currentPage, setCurrentPage] = useState(1)
@@ -86,10 +90,22 @@ export function TransactionList() {
     setCurrentPage(page)
   }
 
-  // Reset to page 1 when filters change
+  // Past the last loaded page, fetch the next page from the server before moving on
+  const handleNextPage = async () => {
+    if (currentPage < totalPages) {
+      setCurrentPage(currentPage + 1)
+      return
+    }
+    const added = await loadMore()
+    if (added > 0) {
+      setCurrentPage(Math.min(currentPage + 1, Math.ceil((filteredTransactions.length + added) / itemsPerPage)))
+    }
+  }
+
+  // Reset to page 1 when filters change; loading more pages keeps the current one
   useEffect(() => {
     setCurrentPage(1)
-  }, [filteredTransactions])
+  }, [filters])
 
   if (error) {
     return (
@@ -187,7 +203,7 @@ export function TransactionList() {
       {!loading && currentTransactions.length > 0 && (
         <div className="flex items-center justify-between border-t border-[#ffffff]/10 px-6 py-4">
           <p className="text-xs text-[#ffffff]/50">
-            Showing {startIndex + 1}-{Math.min(endIndex, filteredTransactions.length)} of {filteredTransactions.length} transactions
+            Showing {startIndex + 1}-{Math.min(endIndex, filteredTransactions.length)} of {filteredTransactions.length}{hasMore ? "+" : ""} transactions
           </p>
           <div className="flex items-center gap-1">
             <button 
@@ -227,8 +243,8 @@ export function TransactionList() {
             })}
             
             <button 
-              onClick={() => handlePageChange(Math.min(totalPages, currentPage + 1))}
-              disabled={currentPage === totalPages}
+              onClick={handleNextPage}
+              disabled={loadingMore || (currentPage === totalPages && !hasMore)}
               className="flex h-8 w-8 items-center justify-center rounded-md text-[#ffffff]/50 hover:bg-[#ffffff]/10 hover:text-[#ffffff] disabled:opacity-50 disabled:cursor-not-allowed"
             >
               <ChevronRight className="h-4 w-4" />
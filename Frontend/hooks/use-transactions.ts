@@ -1,19 +1,27 @@
 "use client"
 
-import { useState, useEffect, useMemo } from "react"
+import { useState, useEffect, useMemo, useRef } from "react"
 import { Transaction, TransactionFilters, TransactionAPI } from "@/lib/api"
 
 export function useTransactions() {
   const [transactions, setTransactions] = useState<Transaction[]>([])
   const [filteredTransactions, setFilteredTransactions] = useState<Transaction[]>([])
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
+  // Cursor of the next page for each list; a cursor is only valid with the filters it came from
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [filteredNextCursor, setFilteredNextCursor] = useState<string | null>(null)
+  // Bumped on every filter change, so a page for older filters is dropped when it arrives
+  const filterRun = useRef(0)
   const [filters, setFiltersState] = useState<TransactionFilters>({
     dateRange: "all",
     type: "all",
     amountRange: "all",
   })
 
+  const hasActiveFilters = filters.dateRange !== "all" || filters.type !== "all" || filters.amountRange !== "all"
+
   // Fetch all transactions on mount
   useEffect(() => {
     fetchTransactions()
@@ -28,8 +36,9 @@ export function useTransactions() {
     try {
       setLoading(true)
       setError(null)
-      const data = await TransactionAPI.getAllTransactions()
-      setTransactions(data)
+      const page = await TransactionAPI.getAllTransactions()
+      setTransactions(page.transactions)
+      setNextCursor(page.nextCursor)
     } catch (err) {
       setError(err instanceof Error ? err.message : "Failed to fetch transactions")
     } finally {
@@ -38,24 +47,57 @@ export function useTransactions() {
   }
 
   const applyFilters = async () => {
+    const run = ++filterRun.current
     if (filters.dateRange === "all" && filters.type === "all" && filters.amountRange === "all") {
       // No filters applied, show all transactions
       setFilteredTransactions(transactions)
+      setFilteredNextCursor(null)
     } else {
       try {
         setLoading(true)
-        const filtered = await TransactionAPI.getFilteredTransactions(filters)
-        setFilteredTransactions(filtered)
+        const page = await TransactionAPI.getFilteredTransactions(filters)
+        if (run !== filterRun.current) return
+        setFilteredTransactions(page.transactions)
+        setFilteredNextCursor(page.nextCursor)
       } catch (err) {
+        if (run !== filterRun.current) return
         setError(err instanceof Error ? err.message : "Failed to filter transactions")
         // Fallback to client-side filtering
         setFilteredTransactions(filterTransactionsClientSide(transactions, filters))
+        setFilteredNextCursor(null)
       } finally {
         setLoading(false)
       }
     }
   }
 
+  // Appends the next page of whichever list is showing and returns how many rows it added
+  const loadMore = async (): Promise<number> => {
+    const filtered = hasActiveFilters
+    const cursor = filtered ? filteredNextCursor : nextCursor
+    if (!cursor || loadingMore) return 0
+    const run = filterRun.current
+    try {
+      setLoadingMore(true)
+      if (filtered) {
+        const page = await TransactionAPI.getFilteredTransactions(filters, cursor)
+        if (run !== filterRun.current) return 0
+        setFilteredTransactions(prev => [...prev, ...page.transactions])
+        setFilteredNextCursor(page.nextCursor)
+        return page.transactions.length
+      }
+      const page = await TransactionAPI.getAllTransactions(cursor)
+      setTransactions(prev => [...prev, ...page.transactions])
+      setNextCursor(page.nextCursor)
+      return page.transactions.length
+    } catch (err) {
+      setError(err instanceof Error ? err.message : "Failed to load more transactions")
+      return 0
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
   const filterTransactionsClientSide = (txs: Transaction[], fltrs: TransactionFilters): Transaction[] => {
     let filtered = [...txs]
     const now = new Date()
@@ -106,11 +148,14 @@ export function useTransactions() {
     transactions,
     filteredTransactions,
     loading,
+    loadingMore,
     error,
     filters,
     setFilters,
     clearFilters,
     refetch,
-    hasActiveFilters: filters.dateRange !== "all" || filters.type !== "all" || filters.amountRange !== "all",
+    loadMore,
+    hasMore: (hasActiveFilters ? filteredNextCursor : nextCursor) !== null,
+    hasActiveFilters,
   }
 }
@@ -58,6 +58,26 @@ export interface TransactionFilters {
   accountId?: string
 }
 
+export interface TransactionPage {
+  transactions: Transaction[]
+  nextCursor: string | null
+  hasMore: boolean
+}
+
+// Filter values the history endpoint can evaluate server-side (TransactionType enum)
+const SERVER_TYPES: Record<string, string> = {
+  deposit: 'DEPOSIT',
+  withdrawal: 'WITHDRAWAL',
+  transfer_in: 'TRANSFER_IN',
+  transfer_out: 'TRANSFER_OUT',
+}
+
+const AMOUNT_RANGES: Record<string, { minAmount?: string; maxAmount?: string }> = {
+  '0-100': { maxAmount: '99.99' },
+  '100-1000': { minAmount: '100', maxAmount: '1000' },
+  '1000+': { minAmount: '1000.01' },
+}
+
 export interface DepositRequest {
   accountId: number
   amount: number
@@ -80,55 +100,87 @@ export interface TransferRequest {
   currency?: string
 }
 
+const toLocalISOString = (date: Date) => {
+  const pad = (n: number) => String(n).padStart(2, '0')
+  return `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}` +
+    `T${pad(date.getHours())}:${pad(date.getMinutes())}:${pad(date.getSeconds())}`
+}
+
 export class TransactionAPI {
-  static async getAllTransactions(): Promise<Transaction[]> {
+  // One page of the unfiltered history; pass the previous page's nextCursor for the next one
+  static async getAllTransactions(cursor?: string | null): Promise<TransactionPage> {
     try {
-      const response = await fetch(`${API_BASE_URL}/transactions/history`, {
-        method: 'GET',
-        headers: getAuthHeaders(),
-      })
-
-      const data = await handleAPIResponse(response)
-      
-      // Transform backend data to frontend format
-      return data.map((tx: any) => this.transformTransaction(tx))
+      return await this.getTransactionPage({ dateRange: 'all', type: 'all', amountRange: 'all' }, cursor)
     } catch (error) {
       console.error('Error fetching transactions:', error)
       if (error instanceof APIError) {
         throw error
       }
       // Return mock data as fallback
-      return this.getMockTransactions()
+      return { transactions: this.getMockTransactions(), nextCursor: null, hasMore: false }
     }
   }
 
-  static async getFilteredTransactions(filters: TransactionFilters): Promise<Transaction[]> {
+  static async getFilteredTransactions(filters: TransactionFilters, cursor?: string | null): Promise<TransactionPage> {
     try {
-      const queryParams = new URLSearchParams()
-      
-      if (filters.accountId && filters.accountId !== 'all') {
-        queryParams.append('accountId', filters.accountId)
-      }
-
-      const response = await fetch(`${API_BASE_URL}/transactions/history?${queryParams}`, {
-        method: 'GET',
-        headers: getAuthHeaders(),
-      })
-
-      const data = await handleAPIResponse(response)
-      
-      const transactions = data.map((tx: any) => this.transformTransaction(tx))
-      
-      // Apply client-side filtering for date range, type, and amount range
-      return this.filterTransactionsClientSide(transactions, filters)
+      return await this.getTransactionPage(filters, cursor)
     } catch (error) {
       console.error('Error fetching filtered transactions:', error)
       if (error instanceof APIError) {
         throw error
       }
       // Fallback to client-side filtering with mock data
-      const allTransactions = await this.getAllTransactions()
-      return this.filterTransactionsClientSide(allTransactions, filters)
+      const transactions = this.filterTransactionsClientSide(this.getMockTransactions(), filters)
+      return { transactions, nextCursor: null, hasMore: false }
+    }
+  }
+
+  // Fetches one bounded page; pass the previous page's nextCursor, with the same filters, to continue
+  static async getTransactionPage(filters: TransactionFilters, cursor?: string | null, limit = 50): Promise<TransactionPage> {
+    const queryParams = new URLSearchParams()
+
+    if (filters.accountId && filters.accountId !== 'all') {
+      queryParams.append('accountId', filters.accountId)
+    }
+    if (filters.dateRange !== 'all') {
+      const daysAgo = parseInt(filters.dateRange || '0')
+      const from = new Date(Date.now() - daysAgo * 24 * 60 * 60 * 1000)
+      // Backend expects a zone-less ISO LocalDateTime in local time; toISOString() would be UTC
+      queryParams.append('from', toLocalISOString(from))
+    }
+    const serverType = SERVER_TYPES[filters.type]
+    if (serverType) {
+      queryParams.append('type', serverType)
+    }
+    const amountRange = AMOUNT_RANGES[filters.amountRange]
+    if (amountRange?.minAmount) {
+      queryParams.append('minAmount', amountRange.minAmount)
+    }
+    if (amountRange?.maxAmount) {
+      queryParams.append('maxAmount', amountRange.maxAmount)
+    }
+    if (cursor) {
+      queryParams.append('cursor', cursor)
+    }
+    queryParams.append('limit', String(limit))
+
+    const response = await fetch(`${API_BASE_URL}/transactions/history?${queryParams}`, {
+      method: 'GET',
+      headers: getAuthHeaders(),
+    })
+
+    const data = await handleAPIResponse(response)
+    let transactions: Transaction[] = data.items.map((tx: any) => this.transformTransaction(tx))
+
+    // Types without a backend equivalent (e.g. "transfer", "interest") are still matched locally
+    if (filters.type !== 'all' && !serverType) {
+      transactions = transactions.filter(tx => tx.type === filters.type)
+    }
+
+    return {
+      transactions,
+      nextCursor: data.nextCursor ?? null,
+      hasMore: Boolean(data.hasMore),
     }
   }
 